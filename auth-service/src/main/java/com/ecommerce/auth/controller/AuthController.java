@@ -3,7 +3,7 @@ package com.ecommerce.auth.controller;
 import com.ecommerce.auth.dto.AuthResponse;
 import com.ecommerce.auth.dto.LoginRequest;
 import com.ecommerce.auth.dto.RegisterRequest;
-import com.ecommerce.auth.entity.User;
+import com.ecommerce.auth.dto.UserResponse;
 import com.ecommerce.auth.service.AuthService;
 import com.ecommerce.common.dto.ApiResponse;
 import jakarta.validation.Valid;
@@ -33,8 +33,8 @@ public class AuthController {
     }
 
     @GetMapping("/users/{userId}")
-    public ResponseEntity<ApiResponse<User>> getUserById(@PathVariable Long userId) {
-        User user = authService.getUserById(userId);
+    public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable Long userId) {
+        UserResponse user = authService.getUserById(userId);
         return ResponseEntity.ok(ApiResponse.success(user));
     }
 
@@ -0,0 +1,57 @@
+package com.ecommerce.auth.kafka;
+
+import com.ecommerce.common.events.UserLifecycleEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes user lifecycle events once the change that caused them has committed. Other
+ * services use them to keep local knowledge of users (such as which IDs exist) up to date.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventProducer {
+
+    private static final String TOPIC = "user-lifecycle-topic";
+
+    // Absent when Kafka is disabled (dev profile)
+    private final ObjectProvider<KafkaTemplate<String, UserLifecycleEvent>> kafkaTemplateProvider;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void sendUserLifecycleEvent(UserLifecycleEvent event) {
+        KafkaTemplate<String, UserLifecycleEvent> kafkaTemplate = kafkaTemplateProvider.getIfAvailable();
+        if (kafkaTemplate == null) {
+            return;
+        }
+        log.info("📤 Publishing user-lifecycle event | User ID: {} | Type: {}", event.getUserId(), event.getType());
+
+        try {
+            CompletableFuture<SendResult<String, UserLifecycleEvent>> future =
+                    kafkaTemplate.send(TOPIC, String.valueOf(event.getUserId()), event);
+
+            future.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.info("✅ Successfully published user-lifecycle event | User ID: {} | Topic: {} | Partition: {} | Offset: {}",
+                            event.getUserId(), TOPIC,
+                            result.getRecordMetadata().partition(),
+                            result.getRecordMetadata().offset());
+                } else {
+                    log.error("❌ Failed to publish user-lifecycle event | User ID: {} | Error: {}",
+                            event.getUserId(), ex.getMessage(), ex);
+                }
+            });
+        } catch (Exception e) {
+            log.error("❌ Exception while publishing user-lifecycle event | User ID: {} | Error: {}",
+                    event.getUserId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.common.enums;
+
+public enum ImageStatus {
+    PENDING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.common.enums;
+
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    STOCK_CHANGED
+}
@@ -0,0 +1,5 @@
+package com.ecommerce.common.enums;
+
+public enum UserLifecycleType {
+    REGISTERED
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.List;
 
 @Data
 @Builder
@@ -16,7 +17,9 @@ public class OrderCreatedEvent implements Serializable {
     
     private Long orderId;
     private Long userId;
+    // Set for single-product orders only; every order lists its lines in items
     private Long productId;
     private Double amount;
     private Integer quantity;
+    private List<OrderLineItem> items;
 }
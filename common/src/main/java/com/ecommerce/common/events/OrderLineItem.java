@@ -0,0 +1,20 @@
+package com.ecommerce.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderLineItem implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long productId;
+    private Integer quantity;
+    private Double unitPrice;
+}
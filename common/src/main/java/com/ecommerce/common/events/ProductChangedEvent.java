@@ -0,0 +1,28 @@
+package com.ecommerce.common.events;
+
+import com.ecommerce.common.enums.ProductChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangedEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long productId;
+    private ProductChangeType changeType;
+
+    // Current state after the change; null for DELETED
+    private String name;
+    private BigDecimal price;
+    private Integer stock;
+    private LocalDateTime updatedAt;
+}
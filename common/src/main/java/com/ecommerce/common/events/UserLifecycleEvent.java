@@ -0,0 +1,20 @@
+package com.ecommerce.common.events;
+
+import com.ecommerce.common.enums.UserLifecycleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserLifecycleEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+    private UserLifecycleType type;
+}
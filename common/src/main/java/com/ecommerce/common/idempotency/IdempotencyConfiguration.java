@@ -0,0 +1,17 @@
+package com.ecommerce.common.idempotency;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Adds the {@link IdempotencyStore} to a service. Registers this package alongside the
+ * service's own, so {@link IdempotencyRecord} and its repository are picked up by the JPA
+ * entity and repository scanning without replacing the service's defaults. The service needs
+ * the {@code idempotency_keys} table and scheduling enabled for the expiry cleanup.
+ */
+@Configuration(proxyBeanMethods = false)
+@AutoConfigurationPackage
+@Import(IdempotencyStore.class)
+public class IdempotencyConfiguration {
+}
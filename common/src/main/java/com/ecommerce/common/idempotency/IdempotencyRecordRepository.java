@@ -0,0 +1,38 @@
+package com.ecommerce.common.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Plain insert, so a key that is already taken fails on the primary key instead of being
+     * merged into the existing record.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) "
+            + "VALUES (:key, :requestHash, :createdAt, :expiresAt)", nativeQuery = true)
+    void insert(@Param("key") String key, @Param("requestHash") String requestHash,
+                @Param("createdAt") LocalDateTime createdAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.statusCode = :statusCode, r.responseBody = :responseBody "
+            + "WHERE r.idempotencyKey = :key")
+    void complete(@Param("key") String key, @Param("statusCode") int statusCode,
+                  @Param("responseBody") String responseBody);
+
+    // Matching on createdAt removes only the record that was inspected, not one claimed since
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.createdAt = :createdAt")
+    int deleteClaim(@Param("key") String key, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
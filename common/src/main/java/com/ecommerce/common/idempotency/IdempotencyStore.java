@@ -0,0 +1,180 @@
+package com.ecommerce.common.idempotency;
+
+import com.ecommerce.common.dto.ApiResponse;
+import com.ecommerce.common.exception.BadRequestException;
+import com.ecommerce.common.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Makes POST endpoints safe to retry with an {@code Idempotency-Key} header. The first request
+ * with a key claims it and runs; its response is stored and returned to every repeat of the
+ * same request until the key expires, without running it again. A repeat that arrives while
+ * the first is still running gets a 409, and reusing a key for a different request is rejected.
+ * A request that fails releases its key, so it can be retried with the same key.
+ * <p>
+ * A claim whose response was never stored (the instance died, or storing it failed) is not
+ * taken over, since its request may already have taken effect: repeats keep getting a 409 until
+ * the key expires, and the client has to check the outcome before retrying with a new key.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    // A claim still incomplete after this is reported as having an unknown outcome
+    @Value("${idempotency.lock-timeout:PT1M}")
+    private Duration lockTimeout;
+
+    /**
+     * Runs {@code action} once per key. Without a key the action simply runs.
+     *
+     * @param operation identifies the endpoint, so a key cannot be replayed against another one
+     * @param dataType  type of the {@link ApiResponse} payload, needed to read a stored response
+     */
+    public <T> ResponseEntity<ApiResponse<T>> execute(String key, String operation, Object request, Class<T> dataType,
+                                                      Supplier<ResponseEntity<ApiResponse<T>>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = fingerprint(operation, request);
+        IdempotencyRecord completed = claim(key, requestHash);
+        if (completed != null) {
+            log.info("Replaying stored response for idempotency key: {}", key);
+            return replay(completed, dataType);
+        }
+
+        ResponseEntity<ApiResponse<T>> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        }
+        store(key, response);
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT10M}")
+    public void deleteExpired() {
+        int deleted = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Claims the key for this request. Returns null once claimed, or the completed record if the
+     * same request already ran.
+     */
+    private IdempotencyRecord claim(String key, String requestHash) {
+        // Second attempt only after removing an expired record
+        for (int attempt = 0; attempt < 2; attempt++) {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        idempotencyRecordRepository.insert(key, requestHash, now, now.plus(ttl)));
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord existing = idempotencyRecordRepository.findById(key).orElse(null);
+                if (existing == null) {
+                    continue;
+                }
+                if (existing.getExpiresAt().isBefore(now)) {
+                    transactionTemplate.execute(status ->
+                            idempotencyRecordRepository.deleteClaim(key, existing.getCreatedAt()));
+                    continue;
+                }
+                if (!existing.getRequestHash().equals(requestHash)) {
+                    throw new BadRequestException(HEADER + " " + key + " was already used for a different request");
+                }
+                if (existing.getStatusCode() == null) {
+                    if (existing.getCreatedAt().isBefore(now.minus(lockTimeout))) {
+                        throw new ConflictException("The outcome of the request with " + HEADER + " " + key
+                                + " is unknown; check its result before retrying with a new key");
+                    }
+                    throw new ConflictException("A request with " + HEADER + " " + key + " is still being processed");
+                }
+                return existing;
+            }
+        }
+        throw new ConflictException("A request with " + HEADER + " " + key + " is still being processed");
+    }
+
+    private void store(String key, ResponseEntity<?> response) {
+        try {
+            String body = objectMapper.writeValueAsString(response.getBody());
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.complete(key, response.getStatusCode().value(), body));
+        } catch (Exception e) {
+            // The request has taken effect, so the claim stays: repeats get a 409 until the key expires
+            log.error("Failed to store response for idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void release(String key) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteById(key));
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> replay(IdempotencyRecord record, Class<T> dataType) {
+        JavaType type = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+        try {
+            ApiResponse<T> body = objectMapper.readValue(record.getResponseBody(), type);
+            return ResponseEntity.status(record.getStatusCode())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable response stored for idempotency key " + record.getIdempotencyKey(), e);
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.order.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * IDs of users known to exist, so placing an order rarely needs to ask auth-service.
+ * <p>
+ * Filled when a lookup succeeds and when a user-registered event arrives. Only positive
+ * answers are kept, since a user unknown a moment ago may have registered since. Users cannot
+ * be deleted in auth-service today, so no event removes an ID; expiry after
+ * {@code order.user-cache.ttl} is the only eviction and bounds how long a removed user would
+ * still be accepted.
+ */
+@Component
+public class UserExistenceCache {
+
+    private final Cache<Long, Boolean> knownUsers;
+
+    public UserExistenceCache(@Value("${order.user-cache.maximum-size:100000}") long maximumSize,
+                              @Value("${order.user-cache.ttl:PT24H}") Duration ttl) {
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isKnown(Long userId) {
+        return knownUsers.getIfPresent(userId) != null;
+    }
+
+    public void add(Long userId) {
+        knownUsers.put(userId, Boolean.TRUE);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.order.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockUpdateDTO {
+    private List<StockItemDTO> items;
+}
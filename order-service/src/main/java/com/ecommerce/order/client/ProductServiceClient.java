@@ -5,6 +5,8 @@ import com.ecommerce.order.dto.ProductDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @FeignClient(name = "product-service", url = "${services.product.url}")
 public interface ProductServiceClient {
 
@@ -16,4 +18,13 @@ public interface ProductServiceClient {
 
     @PostMapping("/products/{productId}/reduce-stock")
     ApiResponse<ProductDTO> reduceStock(@PathVariable("productId") Long productId, @RequestBody StockUpdateDTO stockUpdate);
+
+    @PostMapping("/products/{productId}/add-stock")
+    ApiResponse<ProductDTO> addStock(@PathVariable("productId") Long productId, @RequestBody StockUpdateDTO stockUpdate);
+
+    @PostMapping("/products/stock/reserve")
+    ApiResponse<List<ProductDTO>> reserveStock(@RequestBody BatchStockUpdateDTO request);
+
+    @PostMapping("/products/stock/release")
+    ApiResponse<List<ProductDTO>> releaseStock(@RequestBody BatchStockUpdateDTO request);
 }
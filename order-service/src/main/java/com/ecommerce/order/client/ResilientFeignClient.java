@@ -0,0 +1,96 @@
+package com.ecommerce.order.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Feign HTTP client that runs every call through a semaphore bulkhead and a circuit breaker,
+ * and retries idempotent GETs, using the resilience4j instances named after the target Feign
+ * client ({@code auth-service}, {@code product-service}).
+ * <p>
+ * Connection failures and 5xx responses count as failures; 4xx responses are answers. When a
+ * call is refused (circuit open, bulkhead full) an {@link IOException} is thrown, which Feign
+ * reports as a {@code RetryableException}, so callers handle it like any other failed call.
+ */
+public class ResilientFeignClient implements Client {
+
+    private final Client delegate;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+
+    public ResilientFeignClient(Client delegate,
+                                CircuitBreakerRegistry circuitBreakerRegistry,
+                                BulkheadRegistry bulkheadRegistry,
+                                RetryRegistry retryRegistry) {
+        this.delegate = delegate;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.retryRegistry = retryRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String name = request.requestTemplate().feignTarget().name();
+
+        Callable<Response> call = () -> {
+            Response response = delegate.execute(request, options);
+            if (response.status() >= 500) {
+                throw new ServerErrorException(buffer(response));
+            }
+            return response;
+        };
+        call = Bulkhead.decorateCallable(bulkheadRegistry.bulkhead(name), call);
+        call = CircuitBreaker.decorateCallable(circuitBreakerRegistry.circuitBreaker(name), call);
+        if (request.httpMethod() == Request.HttpMethod.GET) {
+            call = Retry.decorateCallable(retryRegistry.retry(name), call);
+        }
+
+        try {
+            return call.call();
+        } catch (ServerErrorException e) {
+            // Let Feign's error decoder turn it into the usual FeignException
+            return e.response;
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new IOException(e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    // Failed responses may be retried, so the connection is released right away
+    private static Response buffer(Response response) throws IOException {
+        try (response) {
+            byte[] body = response.body() != null ? Util.toByteArray(response.body().asInputStream()) : null;
+            return response.toBuilder().body(body).build();
+        }
+    }
+
+    /**
+     * A 5xx response, raised so that it is recorded by the circuit breaker and can be retried.
+     */
+    public static class ServerErrorException extends RuntimeException {
+
+        private final transient Response response;
+
+        ServerErrorException(Response response) {
+            super("Server error " + response.status() + " from " + response.request().url(), null, false, false);
+            this.response = response;
+        }
+    }
+}
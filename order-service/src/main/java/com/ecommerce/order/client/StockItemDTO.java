@@ -0,0 +1,17 @@
+package com.ecommerce.order.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockItemDTO {
+    private Long productId;
+    private Integer quantity;
+    // Lets product-service skip a release it has already applied
+    private String releaseId;
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.order.config;
+
+import com.ecommerce.order.client.ResilientFeignClient;
+import feign.Capability;
+import feign.Client;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the HTTP client of every Feign client in {@link ResilientFeignClient}. The resilience4j
+ * instances are configured per client under {@code resilience4j.*.instances} and their metrics
+ * are published through Micrometer.
+ */
+@Configuration
+public class FeignResilienceConfig {
+
+    @Bean
+    public Capability resilienceCapability(CircuitBreakerRegistry circuitBreakerRegistry,
+                                           BulkheadRegistry bulkheadRegistry,
+                                           RetryRegistry retryRegistry) {
+        return new Capability() {
+            @Override
+            public Client enrich(Client client) {
+                return new ResilientFeignClient(client, circuitBreakerRegistry, bulkheadRegistry, retryRegistry);
+            }
+        };
+    }
+}
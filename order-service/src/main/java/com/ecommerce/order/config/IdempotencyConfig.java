@@ -0,0 +1,11 @@
+package com.ecommerce.order.config;
+
+import com.ecommerce.common.idempotency.IdempotencyConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+// Kept off the application class so slice tests such as @DataJpaTest do not load it
+@Configuration
+@Import(IdempotencyConfiguration.class)
+public class IdempotencyConfig {
+}
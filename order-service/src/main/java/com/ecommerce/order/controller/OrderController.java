@@ -2,6 +2,10 @@ package com.ecommerce.order.controller;
 
 import com.ecommerce.common.dto.ApiResponse;
 import com.ecommerce.common.enums.OrderStatus;
+import com.ecommerce.common.idempotency.IdempotencyStore;
+import com.ecommerce.order.dto.CartOrderRequest;
+import com.ecommerce.order.dto.OrderHistoryRequest;
+import com.ecommerce.order.dto.OrderPage;
 import com.ecommerce.order.dto.OrderRequest;
 import com.ecommerce.order.dto.OrderResponse;
 import com.ecommerce.order.service.OrderService;
@@ -11,20 +15,34 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    public ResponseEntity<ApiResponse<OrderResponse>> createOrder(@Valid @RequestBody OrderRequest request) {
-        OrderResponse order = orderService.createOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Order created successfully", order));
+    public ResponseEntity<ApiResponse<OrderResponse>> createOrder(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody OrderRequest request) {
+        return idempotencyStore.execute(idempotencyKey, "POST /orders", request, OrderResponse.class, () -> {
+            OrderResponse order = orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Order created successfully", order));
+        });
+    }
+
+    @PostMapping("/cart")
+    public ResponseEntity<ApiResponse<OrderResponse>> createCartOrder(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CartOrderRequest request) {
+        return idempotencyStore.execute(idempotencyKey, "POST /orders/cart", request, OrderResponse.class, () -> {
+            OrderResponse order = orderService.createCartOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Order created successfully", order));
+        });
     }
 
     @GetMapping("/{orderId}")
@@ -34,14 +52,15 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByUserId(@PathVariable Long userId) {
-        List<OrderResponse> orders = orderService.getOrdersByUserId(userId);
+    public ResponseEntity<ApiResponse<OrderPage>> getOrdersByUserId(@PathVariable Long userId,
+                                                                    OrderHistoryRequest request) {
+        OrderPage orders = orderService.getOrderPage(userId, request);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getAllOrders() {
-        List<OrderResponse> orders = orderService.getAllOrders();
+    public ResponseEntity<ApiResponse<OrderPage>> getAllOrders(OrderHistoryRequest request) {
+        OrderPage orders = orderService.getOrderPage(null, request);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
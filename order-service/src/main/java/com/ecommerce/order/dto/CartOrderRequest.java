@@ -0,0 +1,27 @@
+package com.ecommerce.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartOrderRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    // Bounded by the product service's batch reservation limit
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "Cannot order more than 100 items at once")
+    private List<@Valid OrderItemRequest> items;
+}
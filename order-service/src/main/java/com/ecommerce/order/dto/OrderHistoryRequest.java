@@ -0,0 +1,34 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.common.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Query parameters of the order history endpoints; newest orders come first
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryRequest {
+
+    private OrderStatus status;
+
+    // Created at or after this time
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    // Created before this time
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // nextCursor of the previous page
+    private String after;
+
+    @Builder.Default
+    private Integer limit = 20;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPage {
+
+    private List<OrderSummary> items;
+    private Integer limit;
+
+    // Pass as "after" to fetch the next page; null when this is the last page
+    private String nextCursor;
+}
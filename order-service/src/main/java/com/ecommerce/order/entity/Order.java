@@ -13,7 +13,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_id_created_at", columnList = "user_id, created_at"),
+        @Index(name = "idx_orders_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,10 +31,11 @@ public class Order {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
-    @Column(name = "product_id", nullable = false)
+    // Set for single-product orders only; every order keeps its lines in order_items
+    @Column(name = "product_id")
     private Long productId;
 
-    @Column(nullable = false)
+    @Column
     private Integer quantity;
 
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
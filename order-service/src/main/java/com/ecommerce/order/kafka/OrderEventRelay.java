@@ -0,0 +1,117 @@
+package com.ecommerce.order.kafka;
+
+import com.ecommerce.common.events.OrderCreatedEvent;
+import com.ecommerce.order.entity.OrderOutboxEvent;
+import com.ecommerce.order.outbox.OrderEventOutbox;
+import com.ecommerce.order.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the order outbox to Kafka. Each run locks the oldest events, sends them keyed by
+ * order ID (so an order's events stay in order on one partition) and deletes them once Kafka
+ * has acknowledged them, all in one transaction. Delivery is at-least-once: events sent just
+ * before a crash or a failed send are published again, so consumers must tolerate duplicates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventRelay {
+
+    private static final String TOPIC = "order-created-topic";
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderEventOutbox orderEventOutbox;
+    private final ObjectProvider<KafkaTemplate<String, OrderCreatedEvent>> kafkaTemplateProvider;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.events.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order.events.relay.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    @Scheduled(fixedDelayString = "${order.events.relay.interval:PT1S}")
+    public void relay() {
+        // Kafka is disabled in the dev profile; events then stay in the outbox
+        KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate = kafkaTemplateProvider.getIfAvailable();
+        if (kafkaTemplate == null) {
+            return;
+        }
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch(kafkaTemplate));
+            } while (published != null && published == batchSize);
+        } catch (Exception e) {
+            log.error("❌ Failed to relay order-created events | Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private int publishBatch(KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate) {
+        List<OrderOutboxEvent> events = orderOutboxRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderOutboxEvent> queued = new ArrayList<>(events.size());
+        List<OrderOutboxEvent> unreadable = new ArrayList<>();
+        List<CompletableFuture<SendResult<String, OrderCreatedEvent>>> futures = new ArrayList<>(events.size());
+        for (OrderOutboxEvent event : events) {
+            OrderCreatedEvent payload;
+            try {
+                payload = orderEventOutbox.readEvent(event);
+            } catch (RuntimeException e) {
+                // Would fail the same way on every run and hold back the events behind it; the
+                // payload is logged so the event can be recovered by hand
+                log.error("❌ Dropping unreadable order-created event | Outbox ID: {} | Order ID: {} | Payload: {} | Error: {}",
+                        event.getId(), event.getOrderId(), event.getPayload(), e.getMessage());
+                unreadable.add(event);
+                continue;
+            }
+            log.info("📤 Publishing order-created event for Order ID: {} | Outbox ID: {}",
+                    event.getOrderId(), event.getId());
+            queued.add(event);
+            futures.add(kafkaTemplate.send(TOPIC, String.valueOf(event.getOrderId()), payload));
+        }
+
+        // Only the acknowledged prefix is removed; the rest is retried on the next run
+        int sent = 0;
+        try {
+            for (CompletableFuture<SendResult<String, OrderCreatedEvent>> future : futures) {
+                future.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                sent++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            OrderOutboxEvent failed = queued.get(sent);
+            log.error("❌ Failed to publish order-created event | Outbox ID: {} | Order ID: {} | Error: {}",
+                    failed.getId(), failed.getOrderId(), e.getMessage());
+        }
+
+        if (!unreadable.isEmpty()) {
+            orderOutboxRepository.deleteAllInBatch(unreadable);
+        }
+        if (sent > 0) {
+            orderOutboxRepository.deleteAllInBatch(queued.subList(0, sent));
+            log.info("✅ Published {} order-created events | Topic: {}", sent, TOPIC);
+        }
+        // A full batch means more may be waiting, so dropped events count towards it
+        return sent + unreadable.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.order.kafka;
+
+import com.ecommerce.common.enums.PaymentStatus;
+import com.ecommerce.common.events.PaymentCompletedEvent;
+import com.ecommerce.common.exception.ResourceNotFoundException;
+import com.ecommerce.order.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentEventConsumer {
+
+    private final OrderService orderService;
+
+    // Every payment result must reach its order, so this group starts from the earliest offset
+    @KafkaListener(topics = "payment-completed-topic", groupId = "ecommerce_order_saga_group",
+            properties = "auto.offset.reset=earliest")
+    public void consumePaymentCompleted(PaymentCompletedEvent event) {
+        log.info("📥 Received payment-completed event | Order ID: {} | Status: {} | Transaction: {}",
+                event.getOrderId(), event.getStatus(), event.getTransactionId());
+
+        try {
+            orderService.applyPaymentResult(event.getOrderId(), PaymentStatus.valueOf(event.getStatus()));
+            log.info("✅ Successfully processed payment-completed event | Order ID: {}", event.getOrderId());
+        } catch (ResourceNotFoundException | IllegalArgumentException e) {
+            // Retrying cannot help these; other failures are retried by the listener container
+            log.error("❌ Skipping payment-completed event | Order ID: {} | Error: {}",
+                    event.getOrderId(), e.getMessage());
+        }
+    }
+}
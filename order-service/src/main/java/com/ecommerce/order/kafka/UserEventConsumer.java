@@ -0,0 +1,28 @@
+package com.ecommerce.order.kafka;
+
+import com.ecommerce.common.enums.UserLifecycleType;
+import com.ecommerce.common.events.UserLifecycleEvent;
+import com.ecommerce.order.cache.UserExistenceCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventConsumer {
+
+    private final UserExistenceCache userExistenceCache;
+
+    // Every instance keeps its own cache, so each one reads the topic in a group of its own. The
+    // group ID is stable across restarts, so restarts do not leave abandoned groups behind
+    @KafkaListener(topics = "user-lifecycle-topic", groupId = "order-user-cache-${order.user-cache.instance-id}")
+    public void consumeUserLifecycle(UserLifecycleEvent event) {
+        log.info("📥 Received user-lifecycle event | User ID: {} | Type: {}", event.getUserId(), event.getType());
+
+        if (event.getType() == UserLifecycleType.REGISTERED) {
+            userExistenceCache.add(event.getUserId());
+        }
+    }
+}
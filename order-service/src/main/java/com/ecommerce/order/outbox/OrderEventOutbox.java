@@ -0,0 +1,43 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.common.events.OrderCreatedEvent;
+import com.ecommerce.order.entity.OrderOutboxEvent;
+import com.ecommerce.order.repository.OrderOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records order-created events in the {@code order_outbox} table. Must be called inside the
+ * transaction storing the order, so the event commits or rolls back together with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventOutbox {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OrderCreatedEvent event) {
+        try {
+            orderOutboxRepository.save(OrderOutboxEvent.builder()
+                    .orderId(event.getOrderId())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order event for order " + event.getOrderId(), e);
+        }
+    }
+
+    public OrderCreatedEvent readEvent(OrderOutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), OrderCreatedEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox event " + outboxEvent.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.StockRelease;
+import com.ecommerce.order.repository.StockReleaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Records the stock to give back for a cancelled order in the {@code stock_release_outbox}
+ * table. Must be called inside the transaction cancelling the order, so the compensation is
+ * scheduled exactly when the cancellation commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockReleaseOutbox {
+
+    private final StockReleaseRepository stockReleaseRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long orderId, Collection<OrderItem> items) {
+        stockReleaseRepository.saveAll(items.stream()
+                .map(item -> StockRelease.builder()
+                        .orderId(orderId)
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+}
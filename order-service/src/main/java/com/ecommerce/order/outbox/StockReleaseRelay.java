@@ -0,0 +1,108 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.client.BatchStockUpdateDTO;
+import com.ecommerce.order.client.ProductServiceClient;
+import com.ecommerce.order.client.StockItemDTO;
+import com.ecommerce.order.entity.StockRelease;
+import com.ecommerce.order.repository.StockReleaseRepository;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Gives the stock of cancelled orders back to product-service. Each run claims the oldest
+ * unclaimed lines for {@code order.stock-release.relay.claim-timeout} in a short transaction,
+ * releases them with a single batch call made outside any transaction, and deletes them in a
+ * second one, so no database connection or row lock is held while product-service answers.
+ * Lines whose release failed, or whose relay died, are taken again once their claim has
+ * passed; every line carries a release ID that product-service applies only once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockReleaseRelay {
+
+    private final StockReleaseRepository stockReleaseRepository;
+    private final ProductServiceClient productServiceClient;
+    private final TransactionTemplate transactionTemplate;
+
+    // product-service accepts at most 100 items per release, so at most 100 lines are taken
+    @Value("${order.stock-release.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order.stock-release.relay.claim-timeout:PT1M}")
+    private Duration claimTimeout;
+
+    @Scheduled(fixedDelayString = "${order.stock-release.relay.interval:PT1S}")
+    public void relay() {
+        try {
+            int released;
+            do {
+                released = releaseBatch();
+            } while (released == batchSize);
+        } catch (Exception e) {
+            // Pending lines stay in the outbox and are retried once their claim has passed
+            log.error("Failed to release stock of cancelled orders: {}", e.getMessage());
+        }
+    }
+
+    private int releaseBatch() {
+        List<StockRelease> pending = transactionTemplate.execute(status -> claimBatch());
+        if (pending == null || pending.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            productServiceClient.releaseStock(toRequest(pending));
+        } catch (FeignException.NotFound e) {
+            // A product deleted since the order fails the whole batch; release the others one by one
+            pending.forEach(this::releaseSingle);
+        }
+
+        List<Long> ids = pending.stream().map(StockRelease::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> stockReleaseRepository.deleteAllByIdInBatch(ids));
+        log.info("Released stock from {} cancelled order lines", pending.size());
+        return pending.size();
+    }
+
+    private List<StockRelease> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockRelease> lines = stockReleaseRepository.findByClaimedUntilNullOrClaimedUntilBeforeOrderByIdAsc(
+                now, Limit.of(batchSize));
+        // Written when the transaction commits
+        lines.forEach(line -> line.setClaimedUntil(now.plus(claimTimeout)));
+        return lines;
+    }
+
+    private void releaseSingle(StockRelease line) {
+        try {
+            productServiceClient.releaseStock(toRequest(List.of(line)));
+        } catch (FeignException.NotFound e) {
+            log.warn("Dropping release of {} units for product {}, which no longer exists",
+                    line.getQuantity(), line.getProductId());
+        }
+    }
+
+    // product-service merges the lines per product; they stay separate here to keep their IDs
+    private BatchStockUpdateDTO toRequest(List<StockRelease> lines) {
+        return BatchStockUpdateDTO.builder()
+                .items(lines.stream()
+                        .map(line -> StockItemDTO.builder()
+                                .productId(line.getProductId())
+                                .quantity(line.getQuantity())
+                                .releaseId("order-" + line.getOrderId() + "-release-" + line.getId())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.entity.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, OrderItemRepositoryCustom {
+
+    List<OrderItem> findByOrderId(Long orderId);
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.entity.OrderItem;
+
+import java.util.List;
+
+public interface OrderItemRepositoryCustom {
+
+    /**
+     * Inserts the lines of an order as one JDBC batch, bypassing the persistence context. With
+     * {@code rewriteBatchedStatements} the driver sends the batch as a multi-row INSERT.
+     */
+    void insertBatch(Long orderId, List<OrderItem> items);
+}
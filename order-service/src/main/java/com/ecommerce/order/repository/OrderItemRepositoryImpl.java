@@ -0,0 +1,27 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.entity.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OrderItemRepositoryImpl implements OrderItemRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_items (order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(Long orderId, List<OrderItem> items) {
+        List<Object[]> args = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            item.setOrderId(orderId);
+            args.add(new Object[]{orderId, item.getProductId(), item.getQuantity(), item.getUnitPrice()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+}
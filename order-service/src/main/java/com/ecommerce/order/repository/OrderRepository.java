@@ -2,15 +2,23 @@ package com.ecommerce.order.repository;
 
 import com.ecommerce.common.enums.OrderStatus;
 import com.ecommerce.order.entity.Order;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    
-    List<Order> findByUserId(Long userId);
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
     List<Order> findByStatus(OrderStatus status);
+
+    // Serializes status changes of one order, e.g. a user cancelling while its payment fails
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :orderId")
+    Optional<Order> findByIdForUpdate(@Param("orderId") Long orderId);
 }
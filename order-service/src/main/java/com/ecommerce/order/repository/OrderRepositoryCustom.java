@@ -0,0 +1,18 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.common.enums.OrderStatus;
+import com.ecommerce.order.dto.OrderSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Orders newest first, as summaries, optionally filtered by user, status and a
+     * {@code [from, to)} creation range. Pages are continued after the {@code (createdAt, id)}
+     * of the last row of the previous page; pass nulls for the first page.
+     */
+    List<OrderSummary> findSummaries(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                     LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.common.enums.OrderStatus;
+import com.ecommerce.order.dto.OrderSummary;
+import com.ecommerce.order.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Only the given filters become predicates, so every combination can use the (user_id|status, created_at) indexes
+@RequiredArgsConstructor
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<OrderSummary> findSummaries(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                            LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = cb.createQuery(OrderSummary.class);
+        Root<Order> order = query.from(Order.class);
+        Path<Long> id = order.get("id");
+        Path<LocalDateTime> createdAt = order.get("createdAt");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (userId != null) {
+            predicates.add(cb.equal(order.get("userId"), userId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(order.get("status"), status));
+        }
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(createdAt, to));
+        }
+        if (afterCreatedAt != null) {
+            // The redundant upper bound keeps the condition a plain index range on every database
+            predicates.add(cb.lessThanOrEqualTo(createdAt, afterCreatedAt));
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId))));
+        }
+
+        query.select(cb.construct(OrderSummary.class,
+                        id, order.get("userId"), order.get("totalAmount"), order.get("status"), createdAt))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.entity.StockRelease;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockReleaseRepository extends JpaRepository<StockRelease, Long> {
+
+    /**
+     * Oldest releases no relay holds a claim on, locked for the caller while it claims them.
+     * Rows locked by another relay are skipped ({@code FOR UPDATE SKIP LOCKED}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<StockRelease> findByClaimedUntilNullOrClaimedUntilBeforeOrderByIdAsc(LocalDateTime now, Limit limit);
+}
@@ -1,26 +1,58 @@
 package com.ecommerce.order.service;
 
 import com.ecommerce.common.enums.OrderStatus;
+import com.ecommerce.common.enums.PaymentStatus;
 import com.ecommerce.common.events.OrderCreatedEvent;
+import com.ecommerce.common.events.OrderLineItem;
 import com.ecommerce.common.exception.BadRequestException;
 import com.ecommerce.common.exception.ResourceNotFoundException;
+import com.ecommerce.order.cache.UserExistenceCache;
 import com.ecommerce.order.client.AuthServiceClient;
+import com.ecommerce.order.client.BatchStockUpdateDTO;
 import com.ecommerce.order.client.ProductServiceClient;
+import com.ecommerce.order.client.StockItemDTO;
 import com.ecommerce.order.client.StockUpdateDTO;
+import com.ecommerce.order.dto.CartOrderRequest;
+import com.ecommerce.order.dto.OrderHistoryRequest;
+import com.ecommerce.order.dto.OrderItemResponse;
+import com.ecommerce.order.dto.OrderPage;
 import com.ecommerce.order.dto.OrderRequest;
 import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.dto.OrderSummary;
 import com.ecommerce.order.dto.ProductDTO;
 import com.ecommerce.order.entity.Order;
-import com.ecommerce.order.kafka.OrderProducer;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.outbox.OrderEventOutbox;
+import com.ecommerce.order.outbox.StockReleaseOutbox;
+import com.ecommerce.order.repository.OrderItemRepository;
 import com.ecommerce.order.repository.OrderRepository;
 import feign.FeignException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,139 +63,393 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final AuthServiceClient authServiceClient;
     private final ProductServiceClient productServiceClient;
-    private final OrderProducer orderProducer;
+    private final OrderEventOutbox orderEventOutbox;
+    private final StockReleaseOutbox stockReleaseOutbox;
+    private final UserExistenceCache userExistenceCache;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Value("${order.remote-calls.pool-size:32}")
+    private int remoteCallPoolSize;
+
+    @Value("${order.remote-calls.queue-capacity:200}")
+    private int remoteCallQueueCapacity;
+
+    @Value("${order.remote-calls.timeout:PT3S}")
+    private Duration remoteCallTimeout;
+
+    // Owned by this service rather than exposed as a bean, which would replace Boot's task executor
+    private ThreadPoolTaskExecutor remoteCallExecutor;
+
+    @PostConstruct
+    void startExecutor() {
+        remoteCallExecutor = new ThreadPoolTaskExecutor();
+        remoteCallExecutor.setCorePoolSize(remoteCallPoolSize);
+        remoteCallExecutor.setMaxPoolSize(remoteCallPoolSize);
+        remoteCallExecutor.setQueueCapacity(remoteCallQueueCapacity);
+        remoteCallExecutor.setThreadNamePrefix("order-remote-");
+        remoteCallExecutor.initialize();
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        remoteCallExecutor.shutdown();
+    }
+
+    /**
+     * Places an order. The user, product and stock checks are independent remote calls and run
+     * concurrently, each with its own timeout. No transaction is open during remote calls: the
+     * order and its order-created event are stored in one short transaction once the stock is
+     * reduced, and the stock is given back if storing them fails. The event is published to
+     * Kafka later by the outbox relay.
+     */
     public OrderResponse createOrder(OrderRequest request) {
         log.info("Creating order for user: {} and product: {}", request.getUserId(), request.getProductId());
 
+        // Steps 1-3: Validate user, get product details and check stock, in parallel
+        CompletableFuture<Void> userCheck = userExistenceCache.isKnown(request.getUserId())
+                ? CompletableFuture.completedFuture(null)
+                : callAsync(() -> validateUser(request.getUserId()));
+        CompletableFuture<ProductDTO> productLookup = callAsync(() -> fetchProduct(request.getProductId()));
+        CompletableFuture<Boolean> stockCheck = callAsync(() -> checkStock(request.getProductId(), request.getQuantity()));
+
+        await(userCheck, "validating user");
+        ProductDTO product = await(productLookup, "fetching product details");
+        if (!Boolean.TRUE.equals(await(stockCheck, "checking stock"))) {
+            throw new BadRequestException("Insufficient stock for product: " + product.getName());
+        }
+
+        // Step 4: Calculate total amount
+        BigDecimal totalAmount = product.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
+
+        // Step 5: Reduce stock
+        StockUpdateDTO stockUpdate = StockUpdateDTO.builder()
+                .quantity(request.getQuantity())
+                .build();
+        try {
+            productServiceClient.reduceStock(request.getProductId(), stockUpdate);
+        } catch (FeignException e) {
+            log.error("Failed to reduce stock: {}", e.getMessage());
+            throw new BadRequestException("Failed to reduce stock: " + e.getMessage());
+        }
+
+        // Step 6: Create confirmed order and its order-created event
+        Order order = Order.builder()
+                .userId(request.getUserId())
+                .productId(request.getProductId())
+                .quantity(request.getQuantity())
+                .totalAmount(totalAmount)
+                .status(OrderStatus.CONFIRMED)
+                .build();
+        List<OrderItem> items = List.of(OrderItem.builder()
+                .productId(request.getProductId())
+                .quantity(request.getQuantity())
+                .unitPrice(product.getPrice())
+                .build());
+        try {
+            order = saveOrder(order, items);
+        } catch (RuntimeException e) {
+            log.error("Failed to save order, returning stock for product: {}", request.getProductId());
+            restoreStock(request.getProductId(), stockUpdate);
+            throw e;
+        }
+
+        log.info("Order created successfully with ID: {}", order.getId());
+        return mapToResponse(order, items);
+    }
+
+    /**
+     * Places an order for a whole cart. Stock for all lines is reserved with one call, which
+     * also returns the current prices; the order, its lines (as a single batch) and one
+     * order-created event are then stored in one transaction.
+     */
+    public OrderResponse createCartOrder(CartOrderRequest request) {
+        // Sorted by product ID, one line per product
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        request.getItems().forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        log.info("Creating order for user: {} with {} products", request.getUserId(), quantities.size());
+
         // Step 1: Validate user exists
+        if (!userExistenceCache.isKnown(request.getUserId())) {
+            validateUser(request.getUserId());
+        }
+
+        // Step 2: Reserve stock for every line, all or nothing
+        BatchStockUpdateDTO stockUpdate = BatchStockUpdateDTO.builder()
+                .items(quantities.entrySet().stream()
+                        .map(entry -> StockItemDTO.builder()
+                                .productId(entry.getKey())
+                                .quantity(entry.getValue())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+        Map<Long, ProductDTO> products;
+        try {
+            products = productServiceClient.reserveStock(stockUpdate).getData()
+                    .stream()
+                    .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+        } catch (FeignException e) {
+            log.error("Failed to reserve stock: {}", e.getMessage());
+            throw new BadRequestException("Failed to reserve stock: " + e.getMessage());
+        }
+
+        // Step 3: Price the lines and calculate total amount
+        List<OrderItem> items = new ArrayList<>(quantities.size());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            BigDecimal unitPrice = products.get(entry.getKey()).getPrice();
+            items.add(OrderItem.builder()
+                    .productId(entry.getKey())
+                    .quantity(entry.getValue())
+                    .unitPrice(unitPrice)
+                    .build());
+            totalAmount = totalAmount.add(unitPrice.multiply(BigDecimal.valueOf(entry.getValue())));
+        }
+
+        // Step 4: Create confirmed order with its lines and its order-created event
+        Order order = Order.builder()
+                .userId(request.getUserId())
+                .totalAmount(totalAmount)
+                .status(OrderStatus.CONFIRMED)
+                .build();
         try {
-            authServiceClient.getUserById(request.getUserId());
+            order = saveOrder(order, items);
+        } catch (RuntimeException e) {
+            log.error("Failed to save order, returning stock for products: {}", quantities.keySet());
+            restoreStock(stockUpdate);
+            throw e;
+        }
+
+        log.info("Order created successfully with ID: {} and {} lines", order.getId(), items.size());
+        return mapToResponse(order, items);
+    }
+
+    // The event goes to the outbox in the same transaction, so checkout never waits on Kafka
+    private Order saveOrder(Order order, List<OrderItem> items) {
+        return transactionTemplate.execute(status -> {
+            Order saved = orderRepository.save(order);
+            orderItemRepository.insertBatch(saved.getId(), items);
+            orderEventOutbox.record(toEvent(saved, items));
+            return saved;
+        });
+    }
+
+    private OrderCreatedEvent toEvent(Order order, List<OrderItem> items) {
+        return OrderCreatedEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .productId(order.getProductId())
+                .amount(order.getTotalAmount().doubleValue())
+                .quantity(order.getQuantity())
+                .items(items.stream()
+                        .map(item -> OrderLineItem.builder()
+                                .productId(item.getProductId())
+                                .quantity(item.getQuantity())
+                                .unitPrice(item.getUnitPrice().doubleValue())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private Void validateUser(Long userId) {
+        try {
+            authServiceClient.getUserById(userId);
+            userExistenceCache.add(userId);
+            return null;
         } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("User", "id", request.getUserId());
+            throw new ResourceNotFoundException("User", "id", userId);
         } catch (FeignException e) {
             throw new BadRequestException("Failed to validate user: " + e.getMessage());
         }
+    }
 
-        // Step 2: Get product details and check stock
-        ProductDTO product;
+    private ProductDTO fetchProduct(Long productId) {
         try {
-            var productResponse = productServiceClient.getProductById(request.getProductId());
-            product = productResponse.getData();
+            return productServiceClient.getProductById(productId).getData();
         } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("Product", "id", request.getProductId());
+            throw new ResourceNotFoundException("Product", "id", productId);
         } catch (FeignException e) {
             throw new BadRequestException("Failed to fetch product details: " + e.getMessage());
         }
+    }
 
-        // Step 3: Check stock availability
+    private Boolean checkStock(Long productId, Integer quantity) {
         try {
-            var stockCheckResponse = productServiceClient.checkStock(request.getProductId(), request.getQuantity());
-            if (!stockCheckResponse.getData()) {
-                throw new BadRequestException("Insufficient stock for product: " + product.getName());
-            }
+            return productServiceClient.checkStock(productId, quantity).getData();
         } catch (FeignException e) {
             throw new BadRequestException("Failed to check stock: " + e.getMessage());
         }
+    }
 
-        // Step 4: Calculate total amount
-        BigDecimal totalAmount = product.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
-
-        // Step 5: Create order
-        Order order = Order.builder()
-                .userId(request.getUserId())
-                .productId(request.getProductId())
-                .quantity(request.getQuantity())
-                .totalAmount(totalAmount)
-                .status(OrderStatus.PENDING)
-                .build();
-
-        order = orderRepository.save(order);
+    private void restoreStock(Long productId, StockUpdateDTO stockUpdate) {
+        try {
+            productServiceClient.addStock(productId, stockUpdate);
+        } catch (FeignException e) {
+            log.error("Failed to return {} units of stock for product {}: {}",
+                    stockUpdate.getQuantity(), productId, e.getMessage());
+        }
+    }
 
-        // Step 6: Reduce stock
+    private void restoreStock(BatchStockUpdateDTO stockUpdate) {
         try {
-            StockUpdateDTO stockUpdate = StockUpdateDTO.builder()
-                    .quantity(request.getQuantity())
-                    .build();
-            productServiceClient.reduceStock(request.getProductId(), stockUpdate);
-            
-            // Update order status to CONFIRMED
-            order.setStatus(OrderStatus.CONFIRMED);
-            order = orderRepository.save(order);
-            
-            // Step 7: Publish order-created event to Kafka
-            OrderCreatedEvent event = OrderCreatedEvent.builder()
-                    .orderId(order.getId())
-                    .userId(order.getUserId())
-                    .productId(order.getProductId())
-                    .amount(totalAmount.doubleValue())
-                    .quantity(order.getQuantity())
-                    .build();
-            
-            orderProducer.sendOrderCreatedEvent(event);
-            
+            productServiceClient.releaseStock(stockUpdate);
         } catch (FeignException e) {
-            log.error("Failed to reduce stock: {}", e.getMessage());
-            throw new BadRequestException("Failed to reduce stock: " + e.getMessage());
+            log.error("Failed to return stock {}: {}", stockUpdate.getItems(), e.getMessage());
         }
+    }
 
-        log.info("Order created successfully with ID: {}", order.getId());
-        return mapToResponse(order);
+    private <T> CompletableFuture<T> callAsync(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, remoteCallExecutor)
+                    .orTimeout(remoteCallTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future, String action) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new BadRequestException("Timed out " + action);
+            }
+            if (cause instanceof TaskRejectedException) {
+                throw new BadRequestException("Too many concurrent orders, failed " + action);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BadRequestException("Failed " + action + ": " + cause.getMessage());
+        }
     }
 
     public OrderResponse getOrderById(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
-        return mapToResponse(order);
+        return mapToResponse(order, orderItemRepository.findByOrderId(orderId));
     }
 
-    public List<OrderResponse> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
+    /**
+     * One page of order history, newest first, optionally for a single user. The cursor is the
+     * creation time and ID of the last order returned, so each page is a bounded index range
+     * scan however deep the client pages.
+     */
+    @Transactional(readOnly = true)
+    public OrderPage getOrderPage(Long userId, OrderHistoryRequest request) {
+        Integer limit = request.getLimit();
+        if (limit == null || limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (request.getAfter() != null) {
+            int separator = request.getAfter().lastIndexOf('_');
+            try {
+                afterCreatedAt = LocalDateTime.parse(request.getAfter().substring(0, Math.max(separator, 0)));
+                afterId = Long.parseLong(request.getAfter().substring(separator + 1));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor: " + request.getAfter());
+            }
+        }
+        log.info("Fetching order page: user={}, status={}, from={}, to={}, after={}, limit={}", userId,
+                request.getStatus(), request.getFrom(), request.getTo(), request.getAfter(), limit);
+
+        // Fetch one extra row to know whether another page follows
+        List<OrderSummary> orders = orderRepository.findSummaries(userId, request.getStatus(), request.getFrom(),
+                request.getTo(), afterCreatedAt, afterId, limit + 1);
+        boolean hasMore = orders.size() > limit;
+        List<OrderSummary> items = hasMore ? orders.subList(0, limit) : orders;
+        OrderSummary last = hasMore ? items.get(items.size() - 1) : null;
 
-    public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return OrderPage.builder()
+                .items(new ArrayList<>(items))
+                .limit(limit)
+                .nextCursor(last != null ? last.getCreatedAt() + "_" + last.getId() : null)
+                .build();
     }
 
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus status) {
         log.info("Updating order {} status to {}", orderId, status);
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
-        order.setStatus(status);
-        order = orderRepository.save(order);
+        // Final states: a cancelled order's stock is already on its way back
+        if (order.getStatus() == OrderStatus.DELIVERED || order.getStatus() == OrderStatus.CANCELLED) {
+            throw new BadRequestException("Cannot change status of order in " + order.getStatus() + " status");
+        }
 
-        return mapToResponse(order);
+        if (status == OrderStatus.CANCELLED) {
+            cancel(order);
+        } else {
+            order.setStatus(status);
+            order = orderRepository.save(order);
+        }
+
+        return mapToResponse(order, orderItemRepository.findByOrderId(orderId));
     }
 
     @Transactional
     public void cancelOrder(Long orderId) {
         log.info("Cancelling order with ID: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         if (order.getStatus() == OrderStatus.DELIVERED || order.getStatus() == OrderStatus.CANCELLED) {
             throw new BadRequestException("Cannot cancel order in " + order.getStatus() + " status");
         }
 
+        cancel(order);
+    }
+
+    /**
+     * Saga step for a processed payment. Only confirmed orders move on: a successful payment
+     * starts processing, a failed one cancels the order and gives its stock back. Anything
+     * else (a redelivered event, or an order cancelled in the meantime) is left unchanged.
+     */
+    @Transactional
+    public void applyPaymentResult(Long orderId, PaymentStatus paymentStatus) {
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+
+        if (order.getStatus() != OrderStatus.CONFIRMED) {
+            log.warn("Ignoring payment {} for order {} in {} status", paymentStatus, orderId, order.getStatus());
+            return;
+        }
+
+        if (paymentStatus == PaymentStatus.SUCCESS) {
+            log.info("Payment succeeded, processing order {}", orderId);
+            order.setStatus(OrderStatus.PROCESSING);
+            orderRepository.save(order);
+        } else if (paymentStatus == PaymentStatus.FAILED) {
+            log.info("Payment failed, cancelling order {}", orderId);
+            cancel(order);
+        }
+    }
+
+    // Stock is released asynchronously by the stock release relay once this transaction commits
+    private void cancel(Order order) {
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
 
-        // Optionally: Add stock back to product
-        // This would require an "add-stock" call to product service
+        List<OrderItem> items = orderItemRepository.findByOrderId(order.getId());
+        if (items.isEmpty() && order.getProductId() != null) {
+            // Orders placed before line items were recorded
+            items = List.of(OrderItem.builder()
+                    .productId(order.getProductId())
+                    .quantity(order.getQuantity())
+                    .build());
+        }
+        stockReleaseOutbox.record(order.getId(), items);
     }
 
-    private OrderResponse mapToResponse(Order order) {
+    private OrderResponse mapToResponse(Order order, List<OrderItem> items) {
         return OrderResponse.builder()
                 .id(order.getId())
                 .userId(order.getUserId())
@@ -173,6 +459,13 @@ public class OrderService {
                 .status(order.getStatus())
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
+                .items(items.stream()
+                        .map(item -> OrderItemResponse.builder()
+                                .productId(item.getProductId())
+                                .quantity(item.getQuantity())
+                                .unitPrice(item.getUnitPrice())
+                                .build())
+                        .collect(Collectors.toList()))
                 .build();
     }
 }
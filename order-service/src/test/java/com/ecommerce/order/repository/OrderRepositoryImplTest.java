@@ -0,0 +1,165 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.common.enums.OrderStatus;
+import com.ecommerce.order.dto.OrderSummary;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order history queries: the filtered queries must be served by their (column, created_at)
+ * index, and keyset paging must return every order exactly once, even when many orders share
+ * the same creation time.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ecommerce.order.repository.OrderRepositoryImplTest$CapturingStatementInspector"
+})
+class OrderRepositoryImplTest {
+
+    private static final int ORDERS = 2_000;
+    private static final int USERS = 50;
+    // Few distinct timestamps, so pages regularly end in the middle of a run of ties
+    private static final int DISTINCT_TIMESTAMPS = 40;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<SeededOrder> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void seedOrders() {
+        List<Object[]> rows = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            LocalDateTime createdAt = START.plusMinutes(i % DISTINCT_TIMESTAMPS);
+            rows.add(new Object[]{(long) (i % USERS) + 1, BigDecimal.TEN, STATUSES[i % STATUSES.length].name(),
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt)});
+        }
+        // Plain SQL, since @CreationTimestamp would overwrite the creation times
+        jdbcTemplate.batchUpdate("INSERT INTO orders (user_id, total_amount, status, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+
+        jdbcTemplate.query("SELECT id, user_id, status, created_at FROM orders", rs -> {
+            seeded.add(new SeededOrder(rs.getLong("id"), rs.getLong("user_id"),
+                    OrderStatus.valueOf(rs.getString("status")), rs.getTimestamp("created_at").toLocalDateTime()));
+        });
+    }
+
+    @Test
+    void userHistoryUsesTheUserIndex() {
+        LocalDateTime after = START.plusMinutes(20);
+
+        String firstPage = explainSummaries(7L, null, null, null, 7L, 20);
+        String nextPage = explainSummaries(7L, null, after, 1_000L, 7L, after, after, after, 1_000L, 20);
+
+        assertThat(firstPage).containsIgnoringCase("idx_orders_user_id_created_at").doesNotContainIgnoringCase("tableScan");
+        assertThat(nextPage).containsIgnoringCase("idx_orders_user_id_created_at").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void statusHistoryUsesTheStatusIndex() {
+        LocalDateTime after = START.plusMinutes(20);
+
+        String firstPage = explainSummaries(null, OrderStatus.SHIPPED, null, null, "SHIPPED", 20);
+        String nextPage = explainSummaries(null, OrderStatus.SHIPPED, after, 1_000L,
+                "SHIPPED", after, after, after, 1_000L, 20);
+
+        assertThat(firstPage).containsIgnoringCase("idx_orders_status_created_at").doesNotContainIgnoringCase("tableScan");
+        assertThat(nextPage).containsIgnoringCase("idx_orders_status_created_at").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void pagingReturnsEveryOrderOnceAcrossTies() {
+        assertPagesCoverExactly(null, null, 7, order -> true);
+        assertPagesCoverExactly(3L, null, 4, order -> order.userId() == 3L);
+        assertPagesCoverExactly(null, OrderStatus.CANCELLED, 25, order -> order.status() == OrderStatus.CANCELLED);
+        assertPagesCoverExactly(3L, OrderStatus.PENDING, 1, order -> order.userId() == 3L && order.status() == OrderStatus.PENDING);
+    }
+
+    private void assertPagesCoverExactly(Long userId, OrderStatus status, int limit, Predicate<SeededOrder> filter) {
+        List<Long> expected = seeded.stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(SeededOrder::createdAt).thenComparing(SeededOrder::id).reversed())
+                .map(SeededOrder::id)
+                .toList();
+
+        List<Long> paged = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        while (true) {
+            List<OrderSummary> page = orderRepository.findSummaries(userId, status, null, null, afterCreatedAt, afterId, limit);
+            for (OrderSummary summary : page) {
+                assertThat(seen.add(summary.getId())).as("order %d returned twice", summary.getId()).isTrue();
+                paged.add(summary.getId());
+            }
+            if (page.size() < limit) {
+                break;
+            }
+            OrderSummary last = page.get(page.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+        }
+
+        assertThat(expected).isNotEmpty();
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * Runs findSummaries to capture the SQL it generates, then EXPLAINs that SQL with the given
+     * parameters, in the order the query binds them.
+     */
+    private String explainSummaries(Long userId, OrderStatus status, LocalDateTime afterCreatedAt, Long afterId,
+                                    Object... parameters) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        orderRepository.findSummaries(userId, status, null, null, afterCreatedAt, afterId, 20);
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase().contains("from orders"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+        Object[] bound = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            bound[i] = parameters[i] instanceof LocalDateTime dateTime ? Timestamp.valueOf(dateTime) : parameters[i];
+        }
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, bound));
+    }
+
+    private record SeededOrder(long id, long userId, OrderStatus status, LocalDateTime createdAt) {
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
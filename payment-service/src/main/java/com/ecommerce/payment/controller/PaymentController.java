@@ -2,6 +2,7 @@ package com.ecommerce.payment.controller;
 
 import com.ecommerce.common.dto.ApiResponse;
 import com.ecommerce.common.enums.PaymentStatus;
+import com.ecommerce.common.idempotency.IdempotencyStore;
 import com.ecommerce.payment.dto.PaymentRequest;
 import com.ecommerce.payment.dto.PaymentResponse;
 import com.ecommerce.payment.service.PaymentService;
@@ -19,12 +20,17 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    public ResponseEntity<ApiResponse<PaymentResponse>> processPayment(@Valid @RequestBody PaymentRequest request) {
-        PaymentResponse payment = paymentService.processPayment(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Payment processed", payment));
+    public ResponseEntity<ApiResponse<PaymentResponse>> processPayment(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PaymentRequest request) {
+        return idempotencyStore.execute(idempotencyKey, "POST /payments", request, PaymentResponse.class, () -> {
+            PaymentResponse payment = paymentService.processPayment(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Payment processed", payment));
+        });
     }
 
     @GetMapping("/{paymentId}")
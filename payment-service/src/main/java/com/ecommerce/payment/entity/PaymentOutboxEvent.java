@@ -0,0 +1,38 @@
+package com.ecommerce.payment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payment-completed event written in the same transaction as the payment and relayed to Kafka
+ * afterwards, so a payment result is published exactly when its payment commits.
+ */
+@Entity
+@Table(name = "payment_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    // Serialized PaymentCompletedEvent
+    @Column(nullable = false, length = 1000)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
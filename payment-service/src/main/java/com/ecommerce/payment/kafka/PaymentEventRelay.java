@@ -0,0 +1,117 @@
+package com.ecommerce.payment.kafka;
+
+import com.ecommerce.common.events.PaymentCompletedEvent;
+import com.ecommerce.payment.entity.PaymentOutboxEvent;
+import com.ecommerce.payment.outbox.PaymentEventOutbox;
+import com.ecommerce.payment.repository.PaymentOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the payment outbox to Kafka. Each run locks the oldest events, sends them keyed by
+ * order ID (the key the order saga's results have always used) and deletes them once Kafka has
+ * acknowledged them, all in one transaction. Delivery is at-least-once: events sent just
+ * before a crash or a failed send are published again, so consumers must tolerate duplicates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentEventRelay {
+
+    private static final String TOPIC = "payment-completed-topic";
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final PaymentEventOutbox paymentEventOutbox;
+    private final ObjectProvider<KafkaTemplate<String, PaymentCompletedEvent>> kafkaTemplateProvider;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payment.events.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment.events.relay.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    @Scheduled(fixedDelayString = "${payment.events.relay.interval:PT1S}")
+    public void relay() {
+        // Kafka is disabled in the dev profile; events then stay in the outbox
+        KafkaTemplate<String, PaymentCompletedEvent> kafkaTemplate = kafkaTemplateProvider.getIfAvailable();
+        if (kafkaTemplate == null) {
+            return;
+        }
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch(kafkaTemplate));
+            } while (published != null && published == batchSize);
+        } catch (Exception e) {
+            log.error("❌ Failed to relay payment-completed events | Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private int publishBatch(KafkaTemplate<String, PaymentCompletedEvent> kafkaTemplate) {
+        List<PaymentOutboxEvent> events = paymentOutboxRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<PaymentOutboxEvent> queued = new ArrayList<>(events.size());
+        List<PaymentOutboxEvent> unreadable = new ArrayList<>();
+        List<CompletableFuture<SendResult<String, PaymentCompletedEvent>>> futures = new ArrayList<>(events.size());
+        for (PaymentOutboxEvent event : events) {
+            PaymentCompletedEvent payload;
+            try {
+                payload = paymentEventOutbox.readEvent(event);
+            } catch (RuntimeException e) {
+                // Would fail the same way on every run and hold back the events behind it; the
+                // payload is logged so the event can be recovered by hand
+                log.error("❌ Dropping unreadable payment-completed event | Outbox ID: {} | Order ID: {} | Payload: {} | Error: {}",
+                        event.getId(), event.getOrderId(), event.getPayload(), e.getMessage());
+                unreadable.add(event);
+                continue;
+            }
+            log.info("📤 Publishing payment-completed event for Order ID: {} | Outbox ID: {}",
+                    event.getOrderId(), event.getId());
+            queued.add(event);
+            futures.add(kafkaTemplate.send(TOPIC, String.valueOf(event.getOrderId()), payload));
+        }
+
+        // Only the acknowledged prefix is removed; the rest is retried on the next run
+        int sent = 0;
+        try {
+            for (CompletableFuture<SendResult<String, PaymentCompletedEvent>> future : futures) {
+                future.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                sent++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            PaymentOutboxEvent failed = queued.get(sent);
+            log.error("❌ Failed to publish payment-completed event | Outbox ID: {} | Order ID: {} | Error: {}",
+                    failed.getId(), failed.getOrderId(), e.getMessage());
+        }
+
+        if (!unreadable.isEmpty()) {
+            paymentOutboxRepository.deleteAllInBatch(unreadable);
+        }
+        if (sent > 0) {
+            paymentOutboxRepository.deleteAllInBatch(queued.subList(0, sent));
+            log.info("✅ Published {} payment-completed events | Topic: {}", sent, TOPIC);
+        }
+        // A full batch means more may be waiting, so dropped events count towards it
+        return sent + unreadable.size();
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.payment.outbox;
+
+import com.ecommerce.common.events.PaymentCompletedEvent;
+import com.ecommerce.payment.entity.PaymentOutboxEvent;
+import com.ecommerce.payment.repository.PaymentOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records payment-completed events in the {@code payment_outbox} table. Must be called inside
+ * the transaction storing the payment, so the event commits or rolls back together with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentEventOutbox {
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(PaymentCompletedEvent event) {
+        try {
+            paymentOutboxRepository.save(PaymentOutboxEvent.builder()
+                    .orderId(event.getOrderId())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize payment event for order " + event.getOrderId(), e);
+        }
+    }
+
+    public PaymentCompletedEvent readEvent(PaymentOutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), PaymentCompletedEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox event " + outboxEvent.getId(), e);
+        }
+    }
+}
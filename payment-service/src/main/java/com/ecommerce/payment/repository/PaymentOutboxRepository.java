@@ -0,0 +1,24 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.entity.PaymentOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxEvent, Long> {
+
+    /**
+     * Oldest pending events, locked for the caller. Rows locked by another relay are skipped
+     * ({@code FOR UPDATE SKIP LOCKED}), so several instances never publish the same event.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<PaymentOutboxEvent> findByOrderByIdAsc(Limit limit);
+}
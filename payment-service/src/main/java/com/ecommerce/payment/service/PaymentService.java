@@ -8,7 +8,7 @@ import com.ecommerce.common.exception.ResourceNotFoundException;
 import com.ecommerce.payment.dto.PaymentRequest;
 import com.ecommerce.payment.dto.PaymentResponse;
 import com.ecommerce.payment.entity.Payment;
-import com.ecommerce.payment.kafka.PaymentProducer;
+import com.ecommerce.payment.outbox.PaymentEventOutbox;
 import com.ecommerce.payment.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,7 +30,7 @@ import java.util.stream.Collectors;
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
-    private final PaymentProducer paymentProducer;
+    private final PaymentEventOutbox paymentEventOutbox;
     private final Random random = new Random();
 
     @Value("${payment.success-rate:0.8}")
@@ -76,9 +77,13 @@ public class PaymentService {
         log.info("🔄 Processing payment for order from Kafka event | Order ID: {} | Amount: ${}", 
                 event.getOrderId(), event.getAmount());
 
-        // Check if payment already exists for this order
-        if (paymentRepository.findByOrderId(event.getOrderId()).isPresent()) {
-            log.warn("⚠️ Payment already exists for order ID: {}", event.getOrderId());
+        // A redelivered event: record the result again, which also covers payments stored
+        // before results went through the outbox. The order saga ignores results for orders it
+        // has already moved on
+        Optional<Payment> existing = paymentRepository.findByOrderId(event.getOrderId());
+        if (existing.isPresent()) {
+            log.warn("⚠️ Payment already exists for order ID: {}, re-publishing its result", event.getOrderId());
+            recordResult(existing.get());
             return;
         }
 
@@ -103,14 +108,17 @@ public class PaymentService {
         log.info("💳 Payment {} for order ID: {} with transaction ID: {}", 
                 status, event.getOrderId(), transactionId);
 
-        // Publish payment completed event
-        PaymentCompletedEvent completedEvent = PaymentCompletedEvent.builder()
-                .orderId(event.getOrderId())
-                .status(status.name())
-                .transactionId(transactionId)
-                .build();
+        recordResult(payment);
+    }
 
-        paymentProducer.sendPaymentCompletedEvent(completedEvent);
+    // Committed with the payment and published by PaymentEventRelay, so a result is neither
+    // announced for a rolled-back payment nor lost once the order event is acknowledged
+    private void recordResult(Payment payment) {
+        paymentEventOutbox.record(PaymentCompletedEvent.builder()
+                .orderId(payment.getOrderId())
+                .status(payment.getStatus().name())
+                .transactionId(payment.getTransactionId())
+                .build());
     }
 
     public PaymentResponse getPaymentByOrderId(Long orderId) {
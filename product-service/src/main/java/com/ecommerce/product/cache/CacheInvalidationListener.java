@@ -0,0 +1,42 @@
+package com.ecommerce.product.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies L1 evictions published by other replicas to this node's local tier.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoTierCacheManager cacheManager;
+    private final String nodeId;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\" + CacheInvalidationPublisher.SEPARATOR, 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+
+        String cacheName = parts[1];
+        String key = parts[2];
+        if (key.isEmpty()) {
+            log.debug("Clearing local cache {} on remote invalidation", cacheName);
+            cacheManager.clearLocal(cacheName);
+        } else {
+            log.debug("Evicting local cache entry {}::{} on remote invalidation", cacheName, key);
+            cacheManager.evictLocal(cacheName, key);
+        }
+    }
+}
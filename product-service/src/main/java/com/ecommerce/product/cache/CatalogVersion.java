@@ -0,0 +1,94 @@
+package com.ecommerce.product.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Version of the catalog as a whole, shared by all nodes through Redis ({@code catalog:version}).
+ * It serves as the HTTP validator for list, page and search responses, so they can be
+ * revalidated without being loaded, and has two counters: the version, bumped when a product's
+ * listed details change or products are added or removed, and the stock epoch, bumped when
+ * stock reaches the database (see {@link ProductCacheInvalidator}). Both are part of the
+ * validator, and either bump advances the modification time, so a listing is never confirmed
+ * as current while it shows outdated stock.
+ * <p>
+ * The hash is initialized with the current time, and the validator includes the modification
+ * time, so a version number reused after Redis lost the hash never matches an older validator.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogVersion {
+
+    private static final String KEY = "catalog:version";
+
+    private static final String VERSION_FIELD = "version";
+    private static final String STOCK_FIELD = "stock";
+
+    /**
+     * KEYS: version hash. ARGV: current time in millis. Returns {version, stock epoch, modified}.
+     */
+    private static final RedisScript<List> CURRENT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSETNX', KEYS[1], 'version', 1)
+            redis.call('HSETNX', KEYS[1], 'stock', 1)
+            redis.call('HSETNX', KEYS[1], 'modified', ARGV[1])
+            return {tonumber(redis.call('HGET', KEYS[1], 'version')), tonumber(redis.call('HGET', KEYS[1], 'stock')),
+                    tonumber(redis.call('HGET', KEYS[1], 'modified'))}
+            """, List.class);
+
+    /**
+     * KEYS: version hash. ARGV: current time in millis, counter to bump. The modification time
+     * never goes back, even if the clocks of the nodes disagree.
+     */
+    private static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('HINCRBY', KEYS[1], ARGV[2], 1)
+            local modified = tonumber(redis.call('HGET', KEYS[1], 'modified') or '0')
+            redis.call('HSET', KEYS[1], 'modified', math.max(modified + 1, tonumber(ARGV[1])))
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @return the current version, or null if Redis is unavailable
+     */
+    public Version current() {
+        try {
+            List<?> result = redisTemplate.execute(CURRENT_SCRIPT, List.of(KEY),
+                    Long.toString(System.currentTimeMillis()));
+            return new Version((Long) result.get(0), (Long) result.get(1), (Long) result.get(2));
+        } catch (Exception e) {
+            log.warn("Failed to read catalog version: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    void bump() {
+        bump(VERSION_FIELD);
+    }
+
+    void bumpStock() {
+        bump(STOCK_FIELD);
+    }
+
+    private void bump(String field) {
+        try {
+            redisTemplate.execute(BUMP_SCRIPT, List.of(KEY), Long.toString(System.currentTimeMillis()), field);
+        } catch (Exception e) {
+            log.warn("Failed to bump catalog {}: {}", field, e.getMessage());
+        }
+    }
+
+    public record Version(long number, long stockEpoch, long modifiedMillis) {
+
+        public String etag() {
+            return "W/\"catalog-" + number + "." + stockEpoch + "-" + modifiedMillis + "\"";
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.common.enums.ImageStatus;
+import com.ecommerce.product.dto.ProductPage;
+import com.ecommerce.product.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding for the product cache values: {@link ProductResponse},
+ * {@code List<ProductResponse>} and {@link ProductPage}.
+ * <p>
+ * Layout: magic byte, format version, type tag, then the value. Every record is written as
+ * {@code <varint body length><varint presence mask><present fields in declaration order>}.
+ * Integers are zig-zag varints, strings are length-prefixed UTF-8, decimals are a scale plus
+ * the unscaled bytes and timestamps are UTC epoch seconds plus nanos.
+ * <p>
+ * New fields must only be appended to a record: older readers skip them using the body
+ * length and newer readers see them as absent in older entries. Anything incompatible needs
+ * a new {@link #FORMAT_VERSION}. Values this serializer cannot read (another version, entries
+ * written by the JSON serializer before a cache was switched, or an enum constant it does not
+ * know) are treated as misses.
+ */
+@Slf4j
+public class ProductBinaryRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xEC;
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte TYPE_PRODUCT = 1;
+    private static final byte TYPE_PRODUCT_LIST = 2;
+    private static final byte TYPE_PRODUCT_PAGE = 3;
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        Writer out = new Writer();
+        out.write(MAGIC);
+        out.write(FORMAT_VERSION);
+        if (value instanceof ProductResponse product) {
+            out.write(TYPE_PRODUCT);
+            writeProduct(out, product);
+        } else if (value instanceof ProductPage page) {
+            out.write(TYPE_PRODUCT_PAGE);
+            writePage(out, page);
+        } else if (value instanceof List<?> list) {
+            out.write(TYPE_PRODUCT_LIST);
+            writeProducts(out, list);
+        } else {
+            throw new SerializationException("Unsupported cache value type: " + value.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < 3 || bytes[0] != MAGIC || bytes[1] != FORMAT_VERSION) {
+            log.debug("Ignoring cache entry in an unknown format ({} bytes)", bytes.length);
+            return null;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes, 3, bytes.length - 3);
+        try {
+            return switch (bytes[2]) {
+                case TYPE_PRODUCT -> readProduct(in);
+                case TYPE_PRODUCT_LIST -> readProducts(in);
+                case TYPE_PRODUCT_PAGE -> readPage(in);
+                default -> throw new SerializationException("Unknown cache value type tag: " + bytes[2]);
+            };
+        } catch (UnknownValueException e) {
+            log.debug("Ignoring cache entry written by a newer version: {}", e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to decode product cache value", e);
+        }
+    }
+
+    private void writeProducts(Writer out, List<?> products) {
+        out.writeVarLong(products.size());
+        for (Object product : products) {
+            if (!(product instanceof ProductResponse)) {
+                throw new SerializationException("Unsupported list element type: "
+                        + (product == null ? "null" : product.getClass().getName()));
+            }
+            writeProduct(out, (ProductResponse) product);
+        }
+    }
+
+    private List<ProductResponse> readProducts(ByteBuffer in) {
+        int size = (int) readVarLong(in);
+        List<ProductResponse> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(readProduct(in));
+        }
+        return products;
+    }
+
+    private void writeProduct(Writer out, ProductResponse product) {
+        Writer body = new Writer();
+        body.writeMask(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getImageUrl(), product.getCreatedAt(), product.getUpdatedAt(),
+                product.getImageStatus(), product.getThumbnailUrl(), product.getMediumImageUrl());
+        if (product.getId() != null) body.writeZigZag(product.getId());
+        if (product.getName() != null) body.writeString(product.getName());
+        if (product.getDescription() != null) body.writeString(product.getDescription());
+        if (product.getPrice() != null) body.writeDecimal(product.getPrice());
+        if (product.getStock() != null) body.writeZigZag(product.getStock());
+        if (product.getImageUrl() != null) body.writeString(product.getImageUrl());
+        if (product.getCreatedAt() != null) body.writeTimestamp(product.getCreatedAt());
+        if (product.getUpdatedAt() != null) body.writeTimestamp(product.getUpdatedAt());
+        if (product.getImageStatus() != null) body.writeString(product.getImageStatus().name());
+        if (product.getThumbnailUrl() != null) body.writeString(product.getThumbnailUrl());
+        if (product.getMediumImageUrl() != null) body.writeString(product.getMediumImageUrl());
+        out.writeRecord(body);
+    }
+
+    private ProductResponse readProduct(ByteBuffer in) {
+        ByteBuffer body = readRecord(in);
+        long mask = readVarLong(body);
+        ProductResponse product = new ProductResponse();
+        if (has(mask, 0)) product.setId(readZigZag(body));
+        if (has(mask, 1)) product.setName(readString(body));
+        if (has(mask, 2)) product.setDescription(readString(body));
+        if (has(mask, 3)) product.setPrice(readDecimal(body));
+        if (has(mask, 4)) product.setStock((int) readZigZag(body));
+        if (has(mask, 5)) product.setImageUrl(readString(body));
+        if (has(mask, 6)) product.setCreatedAt(readTimestamp(body));
+        if (has(mask, 7)) product.setUpdatedAt(readTimestamp(body));
+        if (has(mask, 8)) product.setImageStatus(readImageStatus(body));
+        if (has(mask, 9)) product.setThumbnailUrl(readString(body));
+        if (has(mask, 10)) product.setMediumImageUrl(readString(body));
+        return product;
+    }
+
+    private void writePage(Writer out, ProductPage page) {
+        Writer body = new Writer();
+        body.writeMask(page.getLimit(), page.getSort(), page.getNextCursor());
+        if (page.getLimit() != null) body.writeZigZag(page.getLimit());
+        if (page.getSort() != null) body.writeString(page.getSort());
+        if (page.getNextCursor() != null) body.writeZigZag(page.getNextCursor());
+        out.writeRecord(body);
+        writeProducts(out, page.getItems() != null ? page.getItems() : List.of());
+    }
+
+    private ProductPage readPage(ByteBuffer in) {
+        ByteBuffer body = readRecord(in);
+        long mask = readVarLong(body);
+        ProductPage page = new ProductPage();
+        if (has(mask, 0)) page.setLimit((int) readZigZag(body));
+        if (has(mask, 1)) page.setSort(readString(body));
+        if (has(mask, 2)) page.setNextCursor(readZigZag(body));
+        page.setItems(readProducts(in));
+        return page;
+    }
+
+    private static ImageStatus readImageStatus(ByteBuffer in) {
+        String name = readString(in);
+        try {
+            return ImageStatus.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new UnknownValueException("image status " + name);
+        }
+    }
+
+    private static boolean has(long mask, int field) {
+        return (mask & (1L << field)) != 0;
+    }
+
+    private static ByteBuffer readRecord(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        ByteBuffer body = in.slice(in.position(), length);
+        // Skips any fields appended by a newer writer
+        in.position(in.position() + length);
+        return body;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint");
+    }
+
+    private static long readZigZag(ByteBuffer in) {
+        long encoded = readVarLong(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer in) {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static BigDecimal readDecimal(ByteBuffer in) {
+        int scale = (int) readZigZag(in);
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer in) {
+        long epochSecond = readZigZag(in);
+        int nanos = (int) readVarLong(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * A well-formed entry holding a value this version does not know, such as an enum constant
+     * added by a newer release during a rolling deploy.
+     */
+    private static final class UnknownValueException extends RuntimeException {
+
+        UnknownValueException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(128);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeMask(Object... fields) {
+            long mask = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null) {
+                    mask |= 1L << i;
+                }
+            }
+            writeVarLong(mask);
+        }
+
+        void writeBytes(byte[] bytes, int length) {
+            writeVarLong(length);
+            write(bytes, 0, length);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeBytes(bytes, bytes.length);
+        }
+
+        void writeDecimal(BigDecimal value) {
+            writeZigZag(value.scale());
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeBytes(unscaled, unscaled.length);
+        }
+
+        void writeTimestamp(LocalDateTime value) {
+            writeZigZag(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarLong(value.getNano());
+        }
+
+        void writeRecord(Writer body) {
+            writeBytes(body.buf, body.count);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.ecommerce.product.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Programmatic eviction for write paths that touch several products at once, and for
+ * the paginated catalog cache, where per-key {@code @CacheEvict} annotations cannot
+ * express the affected keys.
+ * <p>
+ * Every cached {@code productPage} entry is recorded in a Redis set per product it contains
+ * ({@code productPage:index:<productId>}), so a change to one product evicts only those pages.
+ * Pages that a newly created product would land on are recorded under {@code productPage:index:tail}.
+ * <p>
+ * Every eviction also bumps the {@link CatalogVersion}, after the cached entries are gone:
+ * its version for changes to what listings show (products created or deleted, name,
+ * description, price or image changes, imports), its stock epoch for stock-only changes. Since
+ * listings show stock, their validators change with every order that reaches the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCacheInvalidator {
+
+    private static final String PAGE_CACHE = "productPage";
+    private static final String PAGE_INDEX_PREFIX = "productPage:index:";
+    private static final String TAIL_INDEX = PAGE_INDEX_PREFIX + "tail";
+
+    // Slightly longer than the Redis cache TTL so an index never expires before its pages
+    private static final Duration PAGE_INDEX_TTL = Duration.ofMinutes(11);
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final CatalogVersion catalogVersion;
+
+    /**
+     * Evicts the given products, the full product list and every cached page containing them
+     * after their stock changed, once the current transaction commits (or immediately when no
+     * transaction is active). Bumps the catalog stock epoch.
+     */
+    public void evictProducts(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        runAfterCommit(() -> {
+            Cache products = cacheManager.getCache("products");
+            if (products != null) {
+                ids.forEach(products::evict);
+            }
+            Cache productList = cacheManager.getCache("productList");
+            if (productList != null) {
+                productList.clear();
+            }
+            evictPageKeys(indexKeysFor(ids));
+            log.info("Cleared cache for product IDs: {}", ids);
+            catalogVersion.bumpStock();
+        });
+    }
+
+    /**
+     * Evicts only the cached catalog pages that contain the given products.
+     */
+    public void evictPagesContaining(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        runAfterCommit(() -> {
+            evictPageKeys(indexKeysFor(ids));
+            catalogVersion.bump();
+        });
+    }
+
+    /**
+     * Evicts the cached catalog pages that contain the given products after a stock-only change,
+     * bumping the catalog stock epoch.
+     */
+    public void evictPagesForStockChange(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        runAfterCommit(() -> {
+            evictPageKeys(indexKeysFor(ids));
+            catalogVersion.bumpStock();
+        });
+    }
+
+    /**
+     * Evicts the cached catalog pages a newly created product would appear on.
+     */
+    public void evictTailPages() {
+        runAfterCommit(() -> {
+            evictPageKeys(List.of(TAIL_INDEX));
+            catalogVersion.bump();
+        });
+    }
+
+    /**
+     * Drops every cached product list and catalog page, for bulk changes such as an import.
+     */
+    public void evictAllListings() {
+        runAfterCommit(() -> {
+            for (String cacheName : List.of("productList", PAGE_CACHE)) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            log.info("Cleared all cached product lists and pages");
+            catalogVersion.bump();
+        });
+    }
+
+    /**
+     * Records which products a freshly loaded page contains.
+     *
+     * @param tail whether a newly created product would appear on this page
+     */
+    public void recordPage(String pageKey, Collection<Long> productIds, boolean tail) {
+        List<String> indexKeys = indexKeysFor(productIds);
+        if (tail) {
+            indexKeys.add(TAIL_INDEX);
+        }
+        try {
+            for (String indexKey : indexKeys) {
+                redisTemplate.opsForSet().add(indexKey, pageKey);
+                redisTemplate.expire(indexKey, PAGE_INDEX_TTL);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to index cached page {}: {}", pageKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Called once a page recorded with {@link #recordPage} has been stored. An eviction for one
+     * of its products that ran in between found no page to evict and dropped the index, so the
+     * stored page would be stale; it is evicted here instead.
+     */
+    public void verifyPage(String pageKey, Collection<Long> productIds, boolean tail) {
+        List<String> indexKeys = indexKeysFor(productIds);
+        if (tail) {
+            indexKeys.add(TAIL_INDEX);
+        }
+        boolean indexed;
+        try {
+            byte[] member = pageKey.getBytes(StandardCharsets.UTF_8);
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String indexKey : indexKeys) {
+                    connection.setCommands().sIsMember(indexKey.getBytes(StandardCharsets.UTF_8), member);
+                }
+                return null;
+            });
+            indexed = results.stream().allMatch(Boolean.TRUE::equals);
+        } catch (Exception e) {
+            log.warn("Failed to verify index of cached page {}: {}", pageKey, e.getMessage());
+            indexed = false;
+        }
+        if (indexed) {
+            return;
+        }
+        try {
+            Cache pages = cacheManager.getCache(PAGE_CACHE);
+            if (pages != null) {
+                pages.evict(pageKey);
+            }
+            log.info("Evicted cached page {} invalidated while it was stored", pageKey);
+        } catch (Exception e) {
+            log.warn("Failed to evict unindexed page {}: {}", pageKey, e.getMessage());
+        }
+    }
+
+    private void evictPageKeys(List<String> indexKeys) {
+        Cache pages = cacheManager.getCache(PAGE_CACHE);
+        if (pages == null || indexKeys.isEmpty()) {
+            return;
+        }
+        Set<String> pageKeys = new HashSet<>();
+        for (String indexKey : indexKeys) {
+            Set<String> members = redisTemplate.opsForSet().members(indexKey);
+            if (members != null) {
+                pageKeys.addAll(members);
+            }
+        }
+        redisTemplate.delete(indexKeys);
+        pageKeys.forEach(pages::evict);
+        if (!pageKeys.isEmpty()) {
+            log.info("Cleared {} cached product pages", pageKeys.size());
+        }
+    }
+
+    private List<String> indexKeysFor(Collection<Long> productIds) {
+        List<String> keys = new ArrayList<>(productIds.size() + 1);
+        for (Long productId : productIds) {
+            keys.add(PAGE_INDEX_PREFIX + productId);
+        }
+        return keys;
+    }
+
+    private void runAfterCommit(Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                // The change has already committed; entries expire, so a failed eviction heals within the TTL
+                log.warn("Failed to evict product caches: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
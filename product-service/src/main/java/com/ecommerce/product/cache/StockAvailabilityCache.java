@@ -0,0 +1,150 @@
+package com.ecommerce.product.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Current stock level per product ({@code productStock:<productId>}), so availability checks
+ * for any quantity are answered from Redis.
+ * <p>
+ * Write paths adjust the cached level in place after their transaction commits instead of
+ * evicting it. Deltas are only applied to entries that already exist, so a missing entry is
+ * always loaded from the database. A load first claims {@code productStockLoad:<productId>}
+ * with its own token and stores its result only if that claim is still in place; a delta that
+ * arrives while no entry exists clears the claim, so a level read before the delta committed
+ * is never cached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockAvailabilityCache {
+
+    private static final String KEY_PREFIX = "productStock:";
+    private static final String LOAD_KEY_PREFIX = "productStockLoad:";
+    private static final Duration LOAD_CLAIM_TTL = Duration.ofSeconds(30);
+
+    // KEYS[1] = stock entry, KEYS[2] = load claim; without an entry, invalidate any load in flight
+    private static final RedisScript<Long> INCREMENT_IF_PRESENT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                redis.call('DEL', KEYS[2])
+                return false
+            end
+            return redis.call('INCRBY', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    // KEYS[1] = stock entry, KEYS[2] = load claim; ARGV = token, stock, TTL in ms
+    private static final RedisScript<Long> STORE_IF_CLAIMED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[2])
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${cache.stock.ttl:5m}")
+    private Duration ttl;
+
+    /**
+     * Cached stock level, loading it with {@code loader} on a miss. The loader must read from the
+     * primary database; a replica may still miss writes whose deltas have already been applied.
+     */
+    public int getStock(Long productId, Supplier<Integer> loader) {
+        try {
+            String cached = redisTemplate.opsForValue().get(key(productId));
+            if (cached != null) {
+                return Integer.parseInt(cached);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read cached stock for product ID {}: {}", productId, e.getMessage());
+            return loader.get();
+        }
+
+        String token = UUID.randomUUID().toString();
+        boolean claimed;
+        try {
+            // Claim before the database read, so any delta committed after this point voids the claim
+            redisTemplate.opsForValue().set(loadKey(productId), token, LOAD_CLAIM_TTL);
+            claimed = true;
+        } catch (Exception e) {
+            log.warn("Failed to claim stock load for product ID {}: {}", productId, e.getMessage());
+            claimed = false;
+        }
+
+        log.info("Loading stock from database for product ID: {}", productId);
+        int stock = loader.get();
+        if (claimed) {
+            try {
+                redisTemplate.execute(STORE_IF_CLAIMED_SCRIPT, List.of(key(productId), loadKey(productId)),
+                        token, Integer.toString(stock), Long.toString(ttl.toMillis()));
+            } catch (Exception e) {
+                log.warn("Failed to cache stock for product ID {}: {}", productId, e.getMessage());
+            }
+        }
+        return stock;
+    }
+
+    /**
+     * Adjusts cached stock levels by the given deltas once the current transaction commits.
+     */
+    public void applyDeltas(Map<Long, Integer> deltas) {
+        Map<Long, Integer> copy = Map.copyOf(deltas);
+        runAfterCommit(() -> copy.forEach((productId, delta) ->
+                redisTemplate.execute(INCREMENT_IF_PRESENT_SCRIPT, List.of(key(productId), loadKey(productId)),
+                        delta.toString())));
+    }
+
+    /**
+     * Replaces the cached stock level once the current transaction commits.
+     */
+    public void setStock(Long productId, int stock) {
+        runAfterCommit(() -> redisTemplate.opsForValue().set(key(productId), Integer.toString(stock), ttl));
+    }
+
+    public void remove(Long productId) {
+        runAfterCommit(() -> redisTemplate.delete(List.of(key(productId), loadKey(productId))));
+    }
+
+    private String key(Long productId) {
+        return KEY_PREFIX + productId;
+    }
+
+    private String loadKey(Long productId) {
+        return LOAD_KEY_PREFIX + productId;
+    }
+
+    private void runAfterCommit(Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                // Entries expire, so a failed update heals itself within the TTL
+                log.warn("Failed to update cached stock: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
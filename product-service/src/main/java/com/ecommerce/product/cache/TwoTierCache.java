@@ -0,0 +1,374 @@
+package com.ecommerce.product.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache that keeps a bounded in-process copy (L1) of entries stored in Redis (L2).
+ * Reads are served from L1 when possible; evictions are applied to both tiers and
+ * broadcast so that other replicas drop their L1 copy as well.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} (used by {@code @Cacheable(sync = true)}) are
+ * coalesced: only one loader per key runs on this node and concurrent callers wait for its
+ * result. Entries found in L2 may also be refreshed before they expire, using probabilistic
+ * early expiration (XFetch): the closer the entry is to its expiry and the slower the loader,
+ * the likelier a caller is to reload it. Since a node does not look at L2 again until its L1
+ * copy expires, the expiry used for that decision is moved forward by the L1 TTL.
+ * <p>
+ * {@link #getAll(Collection)} and {@link #putAll(Map)} look up and store many keys with a single
+ * Redis round trip (MGET, and SET commands in one pipeline).
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache redisCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final StringRedisTemplate redisTemplate;
+    private final String redisKeyPrefix;
+    private final long localTtlMillis;
+    private final double earlyRefreshBeta;
+
+    private final Map<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    // Moving average of loader duration; unsynchronized updates only lose a sample now and then
+    private volatile double loadTimeMillis;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                        Cache redisCache,
+                        CacheInvalidationPublisher invalidationPublisher,
+                        MeterRegistry meterRegistry,
+                        StringRedisTemplate redisTemplate,
+                        String redisKeyPrefix,
+                        long localTtlMillis,
+                        double earlyRefreshBeta) {
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCache = redisCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.redisTemplate = redisTemplate;
+        this.redisKeyPrefix = redisKeyPrefix;
+        this.localTtlMillis = localTtlMillis;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.l1Hits = counter(meterRegistry, "l1", "hit");
+        this.l1Misses = counter(meterRegistry, "l1", "miss");
+        this.l2Hits = counter(meterRegistry, "l2", "hit");
+        this.l2Misses = counter(meterRegistry, "l2", "miss");
+        this.loads = loadCounter(meterRegistry, "load");
+        this.coalescedLoads = loadCounter(meterRegistry, "coalesced");
+        this.earlyRefreshes = loadCounter(meterRegistry, "early-refresh");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = redisCache.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        localCache.put(localKey, wrapper.get());
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            l1Hits.increment();
+            return (T) value;
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = redisCache.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            l2Misses.increment();
+            return (T) load(key, valueLoader, null);
+        }
+        l2Hits.increment();
+        if (shouldRefreshEarly(localKey)) {
+            earlyRefreshes.increment();
+            return (T) load(key, valueLoader, wrapper.get());
+        }
+        localCache.put(localKey, wrapper.get());
+        return (T) wrapper.get();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        redisCache.put(key, value);
+        localCache.put(localKey(key), value);
+    }
+
+    /**
+     * Looks up several keys: L1 first, then one MGET against Redis for the rest. Values
+     * found only in Redis are copied to L1.
+     *
+     * @return the values found, keyed by the given keys; missing keys are left out
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new LinkedHashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            Object value = localCache.getIfPresent(localKey(key));
+            if (value != null) {
+                l1Hits.increment();
+                found.put(key, value);
+            } else {
+                l1Misses.increment();
+                remoteKeys.add(key);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        RedisCacheConfiguration configuration = redisConfiguration();
+        if (configuration == null) {
+            for (Object key : remoteKeys) {
+                ValueWrapper wrapper = redisCache.get(key);
+                if (wrapper == null || wrapper.get() == null) {
+                    l2Misses.increment();
+                    continue;
+                }
+                l2Hits.increment();
+                localCache.put(localKey(key), wrapper.get());
+                found.put(key, wrapper.get());
+            }
+            return found;
+        }
+
+        byte[][] redisKeys = remoteKeys.stream().map(this::redisKey).toArray(byte[][]::new);
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(redisKeys));
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            byte[] bytes = values != null ? values.get(i) : null;
+            Object value = bytes != null
+                    ? configuration.getValueSerializationPair().read(ByteBuffer.wrap(bytes))
+                    : null;
+            if (value == null) {
+                l2Misses.increment();
+                continue;
+            }
+            l2Hits.increment();
+            localCache.put(localKey(remoteKeys.get(i)), value);
+            found.put(remoteKeys.get(i), value);
+        }
+        return found;
+    }
+
+    /**
+     * Stores several values in both tiers. The Redis writes go out in one pipeline and do not
+     * replace an entry another caller has stored in the meantime.
+     */
+    public void putAll(Map<?, ?> values) {
+        RedisCacheConfiguration configuration = redisConfiguration();
+        if (configuration == null) {
+            values.forEach(this::put);
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            values.forEach((key, value) -> {
+                if (value == null) {
+                    return;
+                }
+                Duration ttl = configuration.getTtlFunction().getTimeToLive(key, value);
+                connection.stringCommands().set(redisKey(key),
+                        ByteUtils.getBytes(configuration.getValueSerializationPair().write(value)),
+                        ttl == null || ttl.isZero() ? Expiration.persistent() : Expiration.from(ttl),
+                        RedisStringCommands.SetOption.ifAbsent());
+            });
+            return null;
+        });
+        values.forEach((key, value) -> {
+            if (value != null) {
+                localCache.put(localKey(key), value);
+            }
+        });
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        evictLocal(localKey(key));
+        invalidationPublisher.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        clearLocal();
+        invalidationPublisher.publishClear(name);
+    }
+
+    /**
+     * Runs the loader unless another caller on this node is already loading the key, in which
+     * case that result is awaited, or, when a still-valid value is at hand, returned right away.
+     */
+    private Object load(Object key, Callable<?> valueLoader, Object currentValue) {
+        String localKey = localKey(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightLoads.putIfAbsent(localKey, flight);
+        if (existing != null) {
+            if (currentValue != null) {
+                return currentValue;
+            }
+            coalescedLoads.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            // A load that finished between our lookup and claiming the key has already filled L1
+            Object loaded = currentValue == null ? localCache.getIfPresent(localKey) : null;
+            if (loaded != null) {
+                flight.complete(loaded);
+                return loaded;
+            }
+            loads.increment();
+            long start = System.nanoTime();
+            Object value = valueLoader.call();
+            recordLoadTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            put(key, value);
+            flight.complete(value);
+            return value;
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlightLoads.remove(localKey, flight);
+        }
+    }
+
+    private boolean shouldRefreshEarly(String localKey) {
+        if (earlyRefreshBeta <= 0) {
+            return false;
+        }
+        Long ttlMillis;
+        try {
+            ttlMillis = redisTemplate.getExpire(redisKeyPrefix + localKey, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            return false;
+        }
+        if (ttlMillis == null || ttlMillis < 0) {
+            return false;
+        }
+        // XFetch: refresh when -delta * beta * ln(rand) reaches the time left before expiry
+        double gap = -Math.max(loadTimeMillis, 1.0) * earlyRefreshBeta
+                * Math.log(ThreadLocalRandom.current().nextDouble(Double.MIN_VALUE, 1.0));
+        return gap >= ttlMillis - localTtlMillis;
+    }
+
+    private void recordLoadTime(long millis) {
+        double previous = loadTimeMillis;
+        loadTimeMillis = previous == 0 ? millis : previous * 0.8 + millis * 0.2;
+    }
+
+    void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    // Same key layout as the Redis cache: its prefix plus the key as a string
+    private byte[] redisKey(Object key) {
+        return (redisKeyPrefix + localKey(key)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private RedisCacheConfiguration redisConfiguration() {
+        return redisCache instanceof RedisCache cache ? cache.getCacheConfiguration() : null;
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("Two-tier cache lookups by tier and result")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("cache.loads")
+                .description("Cache loader runs, coalesced waits and early refreshes")
+                .tag("cache", name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
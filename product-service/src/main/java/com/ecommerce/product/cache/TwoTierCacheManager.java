@@ -0,0 +1,93 @@
+package com.ecommerce.product.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CacheManager that fronts every Redis cache with a per-node Caffeine cache.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final StringRedisTemplate redisTemplate;
+    private final double earlyRefreshBeta;
+
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager,
+                               CacheInvalidationPublisher invalidationPublisher,
+                               MeterRegistry meterRegistry,
+                               long localMaximumSize,
+                               Duration localTtl,
+                               StringRedisTemplate redisTemplate,
+                               double earlyRefreshBeta) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+        this.redisTemplate = redisTemplate;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Drops an entry from this node's L1 tier only. Used when another replica evicted it.
+     */
+    public void evictLocal(String cacheName, String key) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    /**
+     * Drops all entries of a cache from this node's L1 tier only.
+     */
+    public void clearLocal(String cacheName) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            throw new IllegalStateException("No Redis cache available for name: " + name);
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        String redisKeyPrefix = redisCache instanceof RedisCache cache
+                ? cache.getCacheConfiguration().getKeyPrefixFor(name)
+                : name + "::";
+        return new TwoTierCache(name, localCache, redisCache, invalidationPublisher, meterRegistry,
+                redisTemplate, redisKeyPrefix, localTtl.toMillis(), earlyRefreshBeta);
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.product.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to read replicas listed in
+ * {@code datasource.replicas.urls}; with none configured every query goes to the primary
+ * ({@code spring.datasource.*}) as before.
+ * <p>
+ * Reads that fill a cache are not read-only, so rows a replica has not caught up on are never
+ * cached. Product lookups, lists and pages are therefore served by the primary on a cache miss
+ * and offloaded by the cache instead; the replicas take the uncached reads: the search
+ * fallback, search index rebuilds and the catalog export.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Value("${datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replicas.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    // Replicas further behind the primary than this stop receiving reads
+    @Value("${datasource.replicas.max-lag:PT5S}")
+    private Duration replicaMaxLag;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replica.setPoolName("replica-" + replicas.size());
+            // Let the application start while a replica is down; the health check routes around it
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaMaxLag);
+        routingDataSource.checkReplicas();
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Defers choosing a route until the first statement, when the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:PT10S}")
+    public void checkReplicas() {
+        if (routingDataSource != null && !replicaUrls.isEmpty()) {
+            routingDataSource.checkReplicas();
+        }
+    }
+}
@@ -1,21 +1,58 @@
 package com.ecommerce.product.config;
 
+import com.ecommerce.product.cache.CacheInvalidationListener;
+import com.ecommerce.product.cache.CacheInvalidationPublisher;
+import com.ecommerce.product.cache.ProductBinaryRedisSerializer;
+import com.ecommerce.product.cache.TwoTierCacheManager;
+import com.ecommerce.product.search.ProductSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
 public class RedisCacheConfig {
 
+    @Value("${cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${cache.local.ttl:60s}")
+    private Duration localTtl;
+
+    @Value("${cache.invalidation.channel:product-cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${search.index.channel:product-search-index}")
+    private String searchIndexChannel;
+
+    // XFetch weight for refreshing entries before they expire; 0 disables early refresh
+    @Value("${cache.early-refresh.beta:1.0}")
+    private double earlyRefreshBeta;
+
+    // Caches whose Redis values use the compact binary format instead of JSON
+    @Value("${cache.binary.cache-names:products,productList,productPage}")
+    private Set<String> binaryCacheNames;
+
+    // Identifies this replica so it can ignore its own invalidation broadcasts
+    private final String nodeId = UUID.randomUUID().toString();
+
     @Bean
     public RedisCacheConfiguration cacheConfiguration() {
         return RedisCacheConfiguration.defaultCacheConfig()
@@ -30,9 +67,41 @@ public class RedisCacheConfig {
     }
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        return RedisCacheManager.builder(connectionFactory)
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        return new CacheInvalidationPublisher(redisTemplate, invalidationChannel, nodeId);
+    }
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            CacheInvalidationPublisher invalidationPublisher,
+                                            MeterRegistry meterRegistry,
+                                            StringRedisTemplate redisTemplate) {
+        // Redis (L2) is shared by all replicas; Caffeine (L1) is local to this node
+        RedisCacheConfiguration binaryConfiguration = cacheConfiguration().serializeValuesWith(
+                RedisSerializationContext.SerializationPair.fromSerializer(new ProductBinaryRedisSerializer())
+        );
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        binaryCacheNames.forEach(name -> cacheConfigurations.put(name, binaryConfiguration));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(cacheConfiguration())
+                .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoTierCacheManager(redisCacheManager, invalidationPublisher, meterRegistry,
+                localMaximumSize, localTtl, redisTemplate, earlyRefreshBeta);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoTierCacheManager cacheManager,
+                                                                            ProductSearchIndex productSearchIndex) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new CacheInvalidationListener(cacheManager, nodeId),
+                new ChannelTopic(invalidationChannel));
+        container.addMessageListener(productSearchIndex, new ChannelTopic(searchIndexChannel));
+        return container;
     }
 }
@@ -3,10 +3,19 @@ package com.ecommerce.product.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+
+import java.net.URI;
 
 @Configuration
 public class S3Config {
@@ -20,20 +29,50 @@ public class S3Config {
     @Value("${aws.credentials.secret-key}")
     private String secretKey;
 
+    // Optional endpoint of an S3-compatible store (e.g. MinIO or LocalStack for local testing)
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${aws.s3.multipart.threshold:8MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${aws.s3.multipart.part-size:8MB}")
+    private DataSize multipartPartSize;
+
     @Bean
     public S3Client s3Client() {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider());
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        // Files above the threshold are sent as a multipart upload, part by part from disk
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider())
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(multipartThreshold.toBytes())
+                        .minimumPartSizeInBytes(multipartPartSize.toBytes())
+                        .build());
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+
+    private AwsCredentialsProvider credentialsProvider() {
         // If credentials are provided, use them; otherwise, use default credential chain
         if (accessKey != null && !accessKey.isEmpty() && secretKey != null && !secretKey.isEmpty()) {
-            AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKey, secretKey);
-            return S3Client.builder()
-                    .region(Region.of(region))
-                    .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                    .build();
-        } else {
-            // Use default credential provider chain (IAM roles, environment variables, etc.)
-            return S3Client.builder()
-                    .region(Region.of(region))
-                    .build();
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
         }
+        // Default provider chain (IAM roles, environment variables, etc.)
+        return DefaultCredentialsProvider.create();
     }
 }
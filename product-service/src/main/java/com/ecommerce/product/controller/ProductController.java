@@ -1,18 +1,34 @@
 package com.ecommerce.product.controller;
 
 import com.ecommerce.common.dto.ApiResponse;
+import com.ecommerce.common.exception.BadRequestException;
+import com.ecommerce.product.cache.CatalogVersion;
+import com.ecommerce.product.dto.BatchStockUpdateRequest;
+import com.ecommerce.product.dto.ProductIdsRequest;
+import com.ecommerce.product.dto.ProductImportResult;
+import com.ecommerce.product.dto.ProductPage;
 import com.ecommerce.product.dto.ProductRequest;
 import com.ecommerce.product.dto.ProductResponse;
 import com.ecommerce.product.dto.StockUpdateRequest;
+import com.ecommerce.product.service.InventoryService;
+import com.ecommerce.product.service.ProductExportService;
+import com.ecommerce.product.service.ProductImageService;
+import com.ecommerce.product.service.ProductImportService;
 import com.ecommerce.product.service.ProductService;
-import com.ecommerce.product.service.S3Service;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -21,7 +37,14 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
-    private final S3Service s3Service;
+    private final InventoryService inventoryService;
+    private final ProductExportService productExportService;
+    private final ProductImageService productImageService;
+    private final ProductImportService productImportService;
+    private final CatalogVersion catalogVersion;
+
+    // Clients may store catalog responses but must revalidate them (ETag / Last-Modified) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
 
     @PostMapping
     public ResponseEntity<ApiResponse<ProductResponse>> createProduct(@Valid @RequestBody ProductRequest request) {
@@ -31,21 +54,89 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts() {
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts(WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
         List<ProductResponse> products = productService.getAllProducts();
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(products));
+    }
+
+    @GetMapping(params = {"limit", "!ids"})
+    public ResponseEntity<ApiResponse<ProductPage>> getProductPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam int limit,
+            @RequestParam(defaultValue = ProductService.SORT_ASC) String sort,
+            WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        ProductPage page = productService.getProductPage(after, limit, sort.toLowerCase());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(page));
+    }
+
+    @GetMapping(params = {"ids", "!limit"})
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> getProductsByIds(@RequestParam List<Long> ids) {
+        List<ProductResponse> products = inventoryService.getProductsByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    // Without this, a request with both would fall through to the unpaginated full list
+    @GetMapping(params = {"ids", "limit"})
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> rejectIdsWithLimit() {
+        throw new BadRequestException("Request parameters 'ids' and 'limit' cannot be combined");
+    }
+
+    // Same as GET /products?ids=..., for ID lists too long for a URL
+    @PostMapping("/lookup")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> lookupProducts(@Valid @RequestBody ProductIdsRequest request) {
+        List<ProductResponse> products = inventoryService.getProductsByIds(request.getIds());
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = productExportService::exportCatalog;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<ProductImportResult>> importProductsCsv(InputStream body) {
+        ProductImportResult result = productImportService.importCsv(body);
+        return ResponseEntity.ok(ApiResponse.success("Products imported", result));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<ProductImportResult>> importProductsNdjson(InputStream body) {
+        ProductImportResult result = productImportService.importNdjson(body);
+        return ResponseEntity.ok(ApiResponse.success("Products imported", result));
+    }
+
     @GetMapping("/{productId}")
-    public ResponseEntity<ApiResponse<ProductResponse>> getProductById(@PathVariable Long productId) {
-        ProductResponse product = productService.getProductById(productId);
-        return ResponseEntity.ok(ApiResponse.success(product));
+    public ResponseEntity<ApiResponse<ProductResponse>> getProductById(@PathVariable Long productId,
+                                                                       WebRequest webRequest) {
+        // Served from the product cache; only the ETag is compared before writing a body. No
+        // Last-Modified: updatedAt does not move with write-behind stock, which the ETag covers
+        ProductResponse product = inventoryService.getProductById(productId);
+        if (webRequest.checkNotModified(productEtag(product))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(product));
     }
 
+    // Word and word-prefix matches on name and description, best first
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> searchProducts(@RequestParam String name) {
-        List<ProductResponse> products = productService.searchProducts(name);
-        return ResponseEntity.ok(ApiResponse.success(products));
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> searchProducts(
+            @RequestParam String name,
+            @RequestParam(defaultValue = ProductService.DEFAULT_SEARCH_LIMIT) int limit,
+            WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        List<ProductResponse> products = productService.searchProducts(name, limit);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(products));
     }
 
     @PutMapping("/{productId}")
@@ -66,7 +157,7 @@ public class ProductController {
     public ResponseEntity<ApiResponse<ProductResponse>> reduceStock(
             @PathVariable Long productId,
             @Valid @RequestBody StockUpdateRequest request) {
-        ProductResponse product = productService.reduceStock(productId, request.getQuantity());
+        ProductResponse product = inventoryService.reduceStock(productId, request.getQuantity());
         return ResponseEntity.ok(ApiResponse.success("Stock reduced successfully", product));
     }
 
@@ -74,10 +165,24 @@ public class ProductController {
     public ResponseEntity<ApiResponse<ProductResponse>> addStock(
             @PathVariable Long productId,
             @Valid @RequestBody StockUpdateRequest request) {
-        ProductResponse product = productService.addStock(productId, request.getQuantity());
+        ProductResponse product = inventoryService.addStock(productId, request.getQuantity());
         return ResponseEntity.ok(ApiResponse.success("Stock added successfully", product));
     }
 
+    @PostMapping("/stock/reserve")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> reserveStock(
+            @Valid @RequestBody BatchStockUpdateRequest request) {
+        List<ProductResponse> products = inventoryService.reserveStock(request.getItems());
+        return ResponseEntity.ok(ApiResponse.success("Stock reserved successfully", products));
+    }
+
+    @PostMapping("/stock/release")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> releaseStock(
+            @Valid @RequestBody BatchStockUpdateRequest request) {
+        List<ProductResponse> products = inventoryService.releaseStock(request.getItems());
+        return ResponseEntity.ok(ApiResponse.success("Stock released successfully", products));
+    }
+
     @GetMapping("/{productId}/check-stock")
     public ResponseEntity<ApiResponse<Boolean>> checkStock(
             @PathVariable Long productId,
@@ -90,14 +195,34 @@ public class ProductController {
     public ResponseEntity<ApiResponse<ProductResponse>> uploadProductImage(
             @PathVariable Long productId,
             @RequestParam("file") MultipartFile file) {
-        
-        // Upload file to S3
-        String imageUrl = s3Service.uploadFile(file, "products/product-" + productId);
-        
-        // Update product with new image URL
-        ProductResponse product = productService.updateProductImage(productId, imageUrl);
-        
+        ProductResponse product = productImageService.uploadImage(productId, file);
         return ResponseEntity.ok(ApiResponse.success("Image uploaded successfully", product));
     }
-}
 
+    @PostMapping("/{productId}/upload-image/async")
+    public ResponseEntity<ApiResponse<ProductResponse>> uploadProductImageAsync(
+            @PathVariable Long productId,
+            @RequestParam("file") MultipartFile file) {
+        ProductResponse product = productImageService.uploadImageAsync(productId, file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Image upload started", product));
+    }
+
+    /**
+     * Compares the request's validators with the catalog version, before anything is loaded.
+     * Sets ETag and Last-Modified on the response and returns true if a 304 was sent.
+     */
+    private boolean isCatalogNotModified(WebRequest webRequest) {
+        CatalogVersion.Version version = catalogVersion.current();
+        return version != null && webRequest.checkNotModified(version.etag(), version.modifiedMillis());
+    }
+
+    // Stock is part of the tag because write-behind stock changes do not touch updatedAt
+    private static String productEtag(ProductResponse product) {
+        return "W/\"" + product.getId() + "-" + toEpochMillis(product.getUpdatedAt()) + "-" + product.getStock() + "\"";
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
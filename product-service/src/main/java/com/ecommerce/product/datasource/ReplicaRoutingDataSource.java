@@ -0,0 +1,127 @@
+package com.ecommerce.product.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica, round-robin, and everything else to the
+ * primary. When no replica is healthy, reads fall back to the primary.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // Empty until the first health check, so reads start out on the primary
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag) {
+        this.maxLag = maxLag;
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+        }
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+    }
+
+    /**
+     * Probes every replica and updates the set used for reads. A replica is healthy when it
+     * accepts connections and, if it reports replication status, lags by at most the max lag.
+     */
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection()) {
+                if (!connection.isValid(2)) {
+                    log.warn("Replica {} failed validation", replica.getKey());
+                    continue;
+                }
+                Long lagSeconds = replicationLagSeconds(connection);
+                if (lagSeconds != null && lagSeconds > maxLag.toSeconds()) {
+                    log.warn("Replica {} is {}s behind the primary, routing reads elsewhere", replica.getKey(), lagSeconds);
+                    continue;
+                }
+                healthy.add(replica.getKey());
+            } catch (SQLException e) {
+                log.warn("Replica {} is unreachable: {}", replica.getKey(), e.getMessage());
+            }
+        }
+
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Healthy read replicas: {} of {}", healthy, replicas.keySet());
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    /**
+     * Replication lag reported by a MySQL replica, or null when it cannot be determined (not a
+     * replica, missing REPLICATION CLIENT privilege, or replication stopped reports NULL).
+     */
+    private Long replicationLagSeconds(Connection connection) {
+        for (String[] query : new String[][]{
+                {"SHOW REPLICA STATUS", "Seconds_Behind_Source"},
+                {"SHOW SLAVE STATUS", "Seconds_Behind_Master"}}) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet status = statement.executeQuery(query[0])) {
+                if (!status.next()) {
+                    return null;
+                }
+                long lag = status.getLong(query[1]);
+                // NULL means the replication threads are not running: treat the replica as unusable
+                return status.wasNull() ? Long.MAX_VALUE : lag;
+            } catch (SQLException e) {
+                // Older servers only know the SLAVE syntax; others may deny the statement
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        // The primary is a bean of its own and closed by the container
+        for (DataSource dataSource : replicas.values()) {
+            if (dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
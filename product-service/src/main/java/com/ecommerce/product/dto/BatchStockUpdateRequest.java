@@ -0,0 +1,22 @@
+package com.ecommerce.product.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockUpdateRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "Cannot update more than 100 items at once")
+    private List<@Valid StockItemRequest> items;
+}
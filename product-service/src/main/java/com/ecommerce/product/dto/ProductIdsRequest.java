@@ -0,0 +1,23 @@
+package com.ecommerce.product.dto;
+
+import com.ecommerce.product.service.ProductService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductIdsRequest {
+
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = ProductService.MAX_MULTI_GET, message = "Cannot fetch more than {max} products at once")
+    private List<@NotNull Long> ids;
+}
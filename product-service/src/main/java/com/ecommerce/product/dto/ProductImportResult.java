@@ -0,0 +1,21 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResult {
+
+    private long imported;
+    private long rejected;
+
+    // Reasons for the first rejected records, prefixed with their record number
+    private List<String> errors;
+}
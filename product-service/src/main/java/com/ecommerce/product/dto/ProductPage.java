@@ -0,0 +1,22 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPage {
+
+    private List<ProductResponse> items;
+    private Integer limit;
+    private String sort;
+
+    // Pass as "after" to fetch the next page; null when this is the last page
+    private Long nextCursor;
+}
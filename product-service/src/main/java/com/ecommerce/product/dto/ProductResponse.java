@@ -1,5 +1,6 @@
 package com.ecommerce.product.dto;
 
+import com.ecommerce.common.enums.ImageStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +10,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductResponse {
@@ -20,6 +21,9 @@ public class ProductResponse {
     private BigDecimal price;
     private Integer stock;
     private String imageUrl;
+    private ImageStatus imageStatus;
+    private String thumbnailUrl;
+    private String mediumImageUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,39 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger of stock releases already applied, keyed by the caller's release ID,
+ * so a release retried after an ambiguous failure is never applied twice.
+ */
+@Entity
+@Table(name = "applied_stock_releases", indexes = {
+        @Index(name = "idx_applied_stock_releases_released_at", columnList = "released_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppliedStockRelease {
+
+    @Id
+    @Column(name = "release_id", length = 64)
+    private String releaseId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @CreationTimestamp
+    @Column(name = "released_at", updatable = false)
+    private LocalDateTime releasedAt;
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.product.entity;
 
+import com.ecommerce.common.enums.ImageStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,6 +39,20 @@ public class Product {
     @Column(name = "image_url")
     private String imageUrl;
 
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "medium_image_url")
+    private String mediumImageUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status")
+    private ImageStatus imageStatus;
+
+    // Identifies the latest asynchronous upload, so an older one finishing late is ignored
+    @Column(name = "image_upload_id", length = 36)
+    private String imageUploadId;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
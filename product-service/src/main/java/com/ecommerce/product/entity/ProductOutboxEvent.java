@@ -0,0 +1,38 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Product change written in the same transaction as the change itself and relayed to Kafka
+ * afterwards, so an event is published exactly when its change commits.
+ */
+@Entity
+@Table(name = "product_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // Serialized ProductChangedEvent
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
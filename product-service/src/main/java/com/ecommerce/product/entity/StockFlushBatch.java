@@ -0,0 +1,34 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger of write-behind stock batches already applied to the products table,
+ * so a batch replayed after a crash is never applied twice.
+ */
+@Entity
+@Table(name = "stock_flush_batches")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockFlushBatch {
+
+    @Id
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    @Column(name = "product_count", nullable = false)
+    private Integer productCount;
+
+    @CreationTimestamp
+    @Column(name = "flushed_at", updatable = false)
+    private LocalDateTime flushedAt;
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.product.inventory;
+
+import com.ecommerce.product.dto.StockItemRequest;
+import com.ecommerce.product.entity.AppliedStockRelease;
+import com.ecommerce.product.repository.AppliedStockReleaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers which release IDs have been applied, so a stock release retried after a timeout
+ * or a lost response gives the stock back only once. IDs are kept for
+ * {@code inventory.release-ledger.retention}, which must outlast any caller's retries.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockReleaseLedger {
+
+    private final AppliedStockReleaseRepository appliedStockReleaseRepository;
+
+    @Value("${inventory.release-ledger.retention:P7D}")
+    private Duration retention;
+
+    /**
+     * Drops the items whose release ID was already applied. Items without an ID are kept.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<StockItemRequest> withoutApplied(List<StockItemRequest> items) {
+        Set<String> releaseIds = items.stream()
+                .map(StockItemRequest::getReleaseId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (releaseIds.isEmpty()) {
+            return items;
+        }
+
+        Set<String> applied = new HashSet<>();
+        appliedStockReleaseRepository.findAllById(releaseIds)
+                .forEach(release -> applied.add(release.getReleaseId()));
+        if (applied.isEmpty()) {
+            return items;
+        }
+        log.info("Skipping {} stock releases that were already applied: {}", applied.size(), applied);
+        return items.stream()
+                .filter(item -> item.getReleaseId() == null || !applied.contains(item.getReleaseId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Records the release IDs of the given items in the current transaction. Flushed right away,
+     * so a concurrent duplicate fails here, before any stock outside the database is touched.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<StockItemRequest> items) {
+        List<AppliedStockRelease> releases = items.stream()
+                .filter(item -> item.getReleaseId() != null)
+                .map(item -> AppliedStockRelease.builder()
+                        .releaseId(item.getReleaseId())
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .build())
+                .collect(Collectors.toList());
+        if (!releases.isEmpty()) {
+            appliedStockReleaseRepository.saveAllAndFlush(releases);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.release-ledger.purge-interval:PT1H}")
+    @Transactional
+    public void purge() {
+        int purged = appliedStockReleaseRepository.deleteReleasedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} applied stock releases older than {}", purged, retention);
+        }
+    }
+}
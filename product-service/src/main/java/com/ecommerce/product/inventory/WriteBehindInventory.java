@@ -0,0 +1,361 @@
+package com.ecommerce.product.inventory;
+
+import com.ecommerce.common.enums.ProductChangeType;
+import com.ecommerce.common.exception.InsufficientStockException;
+import com.ecommerce.common.exception.ResourceNotFoundException;
+import com.ecommerce.product.cache.ProductCacheInvalidator;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.entity.StockFlushBatch;
+import com.ecommerce.product.outbox.ProductEventOutbox;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.repository.ProductRepositoryCustom.StockReading;
+import com.ecommerce.product.repository.StockFlushBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Opt-in write-behind inventory for high-velocity products.
+ * <p>
+ * For the configured products the authoritative stock lives in a Redis counter. Reservations
+ * and releases are applied to it atomically by Lua scripts, which also accumulate the change in
+ * a pending-deltas hash. A scheduled flush moves that hash aside under a batch ID, applies all
+ * deltas to {@code products.stock} as one JDBC batch and records the batch ID in
+ * {@code stock_flush_batches} and a STOCK_CHANGED outbox event per product in the same
+ * transaction. If the service dies mid-flush, the moved
+ * hash is replayed on the next run and the ledger guarantees it is applied exactly once.
+ * <p>
+ * Redis must be run with persistence (AOF) enabled when this mode is used, since unflushed
+ * deltas exist only there.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindInventory {
+
+    // Hash tag keeps every key in one slot so the multi-key scripts also work on Redis Cluster
+    private static final String STOCK_KEY_PREFIX = "{inventory}:stock:";
+    private static final String PENDING_KEY = "{inventory}:pending";
+    private static final String FLUSHING_KEY = "{inventory}:flushing";
+    private static final String FLUSHING_BATCH_KEY = "{inventory}:flushing:batch";
+    private static final int MAX_LOAD_ATTEMPTS = 5;
+
+    /**
+     * KEYS: stock counters..., pending hash. ARGV: quantities..., product IDs...
+     * Returns {1, newStock...}, {-1, index} if a counter is not loaded, or {0, index, available}.
+     */
+    private static final RedisScript<List> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS - 1
+            for i = 1, n do
+              local stock = redis.call('GET', KEYS[i])
+              if not stock then return {-1, i} end
+              if tonumber(stock) < tonumber(ARGV[i]) then return {0, i, tonumber(stock)} end
+            end
+            local result = {1}
+            for i = 1, n do
+              result[i + 1] = redis.call('DECRBY', KEYS[i], ARGV[i])
+              redis.call('HINCRBY', KEYS[n + 1], ARGV[n + i], -tonumber(ARGV[i]))
+            end
+            return result
+            """, List.class);
+
+    /**
+     * KEYS: stock counters..., pending hash. ARGV: quantities..., product IDs...
+     * Returns {1, newStock...} or {-1, index} if a counter is not loaded.
+     */
+    private static final RedisScript<List> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS - 1
+            for i = 1, n do
+              if redis.call('EXISTS', KEYS[i]) == 0 then return {-1, i} end
+            end
+            local result = {1}
+            for i = 1, n do
+              result[i + 1] = redis.call('INCRBY', KEYS[i], ARGV[i])
+              redis.call('HINCRBY', KEYS[n + 1], ARGV[n + i], ARGV[i])
+            end
+            return result
+            """, List.class);
+
+    /**
+     * KEYS: stock counter, pending hash. ARGV: new stock, product ID.
+     * Returns {1} or {-1} if the counter is not loaded.
+     */
+    private static final RedisScript<List> SET_SCRIPT = new DefaultRedisScript<>("""
+            local old = redis.call('GET', KEYS[1])
+            if not old then return {-1} end
+            redis.call('SET', KEYS[1], ARGV[1])
+            redis.call('HINCRBY', KEYS[2], ARGV[2], tonumber(ARGV[1]) - tonumber(old))
+            return {1}
+            """, List.class);
+
+    /**
+     * KEYS: stock counter, pending hash, flushing hash, flushing batch ID.
+     * ARGV: stock in the database, product ID, flushing batch ID the stock was read against
+     * (empty if none), "1" if the database stock already includes that batch.
+     * Deltas not yet in the database are added on top of its value. Returns 1 when loaded, 0 if
+     * already loaded, or -1 if a flush started or finished since the stock was read.
+     */
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            if (redis.call('GET', KEYS[4]) or '') ~= ARGV[3] then return -1 end
+            local pending = tonumber(redis.call('HGET', KEYS[2], ARGV[2]) or '0')
+            local flushing = 0
+            if ARGV[4] ~= '1' then flushing = tonumber(redis.call('HGET', KEYS[3], ARGV[2]) or '0') end
+            redis.call('SET', KEYS[1], tonumber(ARGV[1]) + pending + flushing)
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: pending hash, flushing hash, flushing batch ID. ARGV: new batch ID.
+     * Returns the batch ID to flush: an unfinished one if present, otherwise a new one, or nil.
+     */
+    private static final RedisScript<String> BEGIN_FLUSH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then return redis.call('GET', KEYS[3]) end
+            if redis.call('EXISTS', KEYS[1]) == 0 then return false end
+            redis.call('RENAME', KEYS[1], KEYS[2])
+            redis.call('SET', KEYS[3], ARGV[1])
+            return ARGV[1]
+            """, String.class);
+
+    /**
+     * KEYS: flushing hash, flushing batch ID. ARGV: batch ID that was applied.
+     */
+    private static final RedisScript<Long> END_FLUSH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductRepository productRepository;
+    private final StockFlushBatchRepository stockFlushBatchRepository;
+    private final ProductCacheInvalidator productCacheInvalidator;
+    private final ProductEventOutbox productEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.write-behind.product-ids:}")
+    private Set<Long> productIds;
+
+    /**
+     * Whether the stock of this product is managed by the write-behind counter.
+     */
+    public boolean handles(Long productId) {
+        return enabled && productIds.contains(productId);
+    }
+
+    /**
+     * Atomically takes stock for every product, or for none of them.
+     *
+     * @return the new stock levels, keyed by product ID
+     */
+    public Map<Long, Integer> reserve(SortedMap<Long, Integer> quantities) {
+        List<Long> result = runCounterScript(RESERVE_SCRIPT, quantities);
+        if (result.get(0) == 0) {
+            Long productId = new ArrayList<>(quantities.keySet()).get(result.get(1).intValue() - 1);
+            throw new InsufficientStockException(
+                    String.format("Insufficient stock for product ID: %d. Available: %d, Requested: %d",
+                            productId, result.get(2), quantities.get(productId))
+            );
+        }
+        return toStockLevels(quantities, result);
+    }
+
+    /**
+     * Atomically returns stock for every product.
+     *
+     * @return the new stock levels, keyed by product ID
+     */
+    public Map<Long, Integer> release(SortedMap<Long, Integer> quantities) {
+        return toStockLevels(quantities, runCounterScript(RELEASE_SCRIPT, quantities));
+    }
+
+    /**
+     * Sets an absolute stock level, recording the difference as a pending delta. Inside a
+     * transaction the counter is only changed once it commits, so a rolled-back update never
+     * reaches the counter.
+     */
+    public void setStock(Long productId, Integer stock) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        applyStock(productId, stock);
+                    } catch (Exception e) {
+                        log.error("Failed to set write-behind stock for product ID {} to {}: {}",
+                                productId, stock, e.getMessage(), e);
+                    }
+                }
+            });
+        } else {
+            applyStock(productId, stock);
+        }
+    }
+
+    private void applyStock(Long productId, Integer stock) {
+        List<String> keys = List.of(stockKey(productId), PENDING_KEY);
+        List<?> result = redisTemplate.execute(SET_SCRIPT, keys, stock.toString(), productId.toString());
+        if (result != null && ((Long) result.get(0)) == -1) {
+            loadCounter(productId);
+            redisTemplate.execute(SET_SCRIPT, keys, stock.toString(), productId.toString());
+        }
+    }
+
+    /**
+     * Current stock from the counter, loading it from the database if needed.
+     */
+    public Integer getStock(Long productId) {
+        String stock = redisTemplate.opsForValue().get(stockKey(productId));
+        if (stock == null) {
+            loadCounter(productId);
+            stock = redisTemplate.opsForValue().get(stockKey(productId));
+        }
+        return Integer.valueOf(stock);
+    }
+
+    public void remove(Long productId) {
+        redisTemplate.delete(stockKey(productId));
+        redisTemplate.opsForHash().delete(PENDING_KEY, productId.toString());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.write-behind.flush-interval:PT1S}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        String batchId = redisTemplate.execute(BEGIN_FLUSH_SCRIPT,
+                List.of(PENDING_KEY, FLUSHING_KEY, FLUSHING_BATCH_KEY), UUID.randomUUID().toString());
+        if (batchId == null) {
+            return;
+        }
+
+        SortedMap<Long, Integer> deltas = new TreeMap<>();
+        for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(FLUSHING_KEY).entrySet()) {
+            int delta = Integer.parseInt((String) entry.getValue());
+            if (delta != 0) {
+                deltas.put(Long.valueOf((String) entry.getKey()), delta);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (stockFlushBatchRepository.existsById(batchId)) {
+                    log.info("Stock batch {} was already applied, skipping replay", batchId);
+                    return;
+                }
+                productRepository.incrementStockBatch(deltas);
+                productEventOutbox.recordAll(ProductChangeType.STOCK_CHANGED,
+                        productRepository.findAllById(deltas.keySet()).stream()
+                                .map(WriteBehindInventory::toStockChange)
+                                .toList());
+                stockFlushBatchRepository.save(StockFlushBatch.builder()
+                        .batchId(batchId)
+                        .productCount(deltas.size())
+                        .build());
+            });
+        } catch (Exception e) {
+            // The batch stays in Redis and is replayed on the next run
+            log.error("Failed to flush stock batch {}: {}", batchId, e.getMessage(), e);
+            return;
+        }
+
+        redisTemplate.execute(END_FLUSH_SCRIPT, List.of(FLUSHING_KEY, FLUSHING_BATCH_KEY), batchId);
+        if (!deltas.isEmpty()) {
+            productCacheInvalidator.evictProducts(deltas.keySet());
+            log.info("Flushed stock batch {} for {} products", batchId, deltas.size());
+        }
+    }
+
+    private List<Long> runCounterScript(RedisScript<List> script, SortedMap<Long, Integer> quantities) {
+        List<String> keys = new ArrayList<>(quantities.size() + 1);
+        List<String> args = new ArrayList<>(quantities.size() * 2);
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            keys.add(stockKey(entry.getKey()));
+            args.add(entry.getValue().toString());
+        }
+        keys.add(PENDING_KEY);
+        quantities.keySet().forEach(productId -> args.add(productId.toString()));
+
+        List<Long> result = execute(script, keys, args);
+        if (result.get(0) == -1) {
+            // Load the missing counters from the database and try once more
+            quantities.keySet().forEach(this::loadCounter);
+            result = execute(script, keys, args);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> execute(RedisScript<List> script, List<String> keys, List<String> args) {
+        return (List<Long>) redisTemplate.execute(script, keys, args.toArray());
+    }
+
+    /**
+     * Loads the counter from the database. The database stock already includes the flushing
+     * batch once its transaction commits, which may be before the batch is removed from Redis,
+     * so the flush ledger decides whether the flushing delta is added; if a flush starts or ends
+     * between the read and the load, the load is retried.
+     */
+    private void loadCounter(Long productId) {
+        for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+            String batchId = redisTemplate.opsForValue().get(FLUSHING_BATCH_KEY);
+            StockReading reading = productRepository.findStockWithBatchApplied(productId, batchId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+            Long loaded = redisTemplate.execute(LOAD_SCRIPT,
+                    List.of(stockKey(productId), PENDING_KEY, FLUSHING_KEY, FLUSHING_BATCH_KEY),
+                    Integer.toString(reading.stock()), productId.toString(),
+                    batchId == null ? "" : batchId, reading.batchApplied() ? "1" : "0");
+            if (loaded != null && loaded >= 0) {
+                if (loaded == 1) {
+                    log.info("Loaded write-behind stock counter for product ID: {}", productId);
+                }
+                return;
+            }
+        }
+        throw new IllegalStateException("Could not load write-behind stock counter for product ID "
+                + productId + ": stock flushes kept overlapping the load");
+    }
+
+    private static ProductResponse toStockChange(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+
+    private Map<Long, Integer> toStockLevels(SortedMap<Long, Integer> quantities, List<Long> result) {
+        Map<Long, Integer> levels = new TreeMap<>();
+        int index = 1;
+        for (Long productId : quantities.keySet()) {
+            levels.put(productId, result.get(index++).intValue());
+        }
+        return levels;
+    }
+
+    private String stockKey(Long productId) {
+        return STOCK_KEY_PREFIX + productId;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.product.kafka;
+
+import com.ecommerce.common.events.ProductChangedEvent;
+import com.ecommerce.product.entity.ProductOutboxEvent;
+import com.ecommerce.product.outbox.ProductEventOutbox;
+import com.ecommerce.product.repository.ProductOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the product outbox to Kafka. Each run locks the oldest events, sends them keyed by
+ * product ID (so a product's events stay in order on one partition) and deletes them once Kafka
+ * has acknowledged them, all in one transaction. The lock makes a relay on another instance wait
+ * for that transaction rather than skip ahead, so only one instance publishes at a time and a
+ * product's later event can never overtake an earlier one still being sent. Delivery is at-least-once: events sent just
+ * before a crash or a failed send are published again, so consumers must tolerate duplicates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventRelay {
+
+    private static final String TOPIC = "product-changed-topic";
+
+    private final ProductOutboxRepository productOutboxRepository;
+    private final ProductEventOutbox productEventOutbox;
+    private final ObjectProvider<KafkaTemplate<String, ProductChangedEvent>> kafkaTemplateProvider;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${product.events.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${product.events.relay.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    @Scheduled(fixedDelayString = "${product.events.relay.interval:PT1S}")
+    public void relay() {
+        // Kafka is disabled in the dev profile; events then stay in the outbox
+        KafkaTemplate<String, ProductChangedEvent> kafkaTemplate = kafkaTemplateProvider.getIfAvailable();
+        if (kafkaTemplate == null) {
+            return;
+        }
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch(kafkaTemplate));
+            } while (published != null && published == batchSize);
+        } catch (Exception e) {
+            log.error("❌ Failed to relay product events | Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private int publishBatch(KafkaTemplate<String, ProductChangedEvent> kafkaTemplate) {
+        List<ProductOutboxEvent> events = productOutboxRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<ProductOutboxEvent> queued = new ArrayList<>(events.size());
+        List<ProductOutboxEvent> unreadable = new ArrayList<>();
+        List<CompletableFuture<SendResult<String, ProductChangedEvent>>> futures = new ArrayList<>(events.size());
+        for (ProductOutboxEvent event : events) {
+            ProductChangedEvent payload;
+            try {
+                payload = productEventOutbox.readEvent(event);
+            } catch (RuntimeException e) {
+                // Would fail the same way on every run and hold back the events behind it; the
+                // payload is logged so the event can be recovered by hand
+                log.error("❌ Dropping unreadable product-changed event | Outbox ID: {} | Product: {} | Payload: {} | Error: {}",
+                        event.getId(), event.getProductId(), event.getPayload(), e.getMessage());
+                unreadable.add(event);
+                continue;
+            }
+            queued.add(event);
+            futures.add(kafkaTemplate.send(TOPIC, String.valueOf(event.getProductId()), payload));
+        }
+
+        // Only the acknowledged prefix is removed; the rest is retried on the next run
+        int sent = 0;
+        try {
+            for (CompletableFuture<SendResult<String, ProductChangedEvent>> future : futures) {
+                future.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                sent++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            ProductOutboxEvent failed = queued.get(sent);
+            log.error("❌ Failed to publish product-changed event | Outbox ID: {} | Product: {} | Error: {}",
+                    failed.getId(), failed.getProductId(), e.getMessage());
+        }
+
+        if (!unreadable.isEmpty()) {
+            productOutboxRepository.deleteAllInBatch(unreadable);
+        }
+        if (sent > 0) {
+            productOutboxRepository.deleteAllInBatch(queued.subList(0, sent));
+            log.info("✅ Published {} product-changed events | Topic: {}", sent, TOPIC);
+        }
+        // A full batch means more may be waiting, so dropped events count towards it
+        return sent + unreadable.size();
+    }
+}
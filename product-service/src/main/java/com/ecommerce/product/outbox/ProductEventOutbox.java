@@ -0,0 +1,87 @@
+package com.ecommerce.product.outbox;
+
+import com.ecommerce.common.enums.ProductChangeType;
+import com.ecommerce.common.events.ProductChangedEvent;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.entity.ProductOutboxEvent;
+import com.ecommerce.product.repository.ProductOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Records product changes in the {@code product_outbox} table. Must be called inside the
+ * transaction making the change, so the event commits or rolls back together with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductEventOutbox {
+
+    private final ProductOutboxRepository productOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ProductChangeType changeType, ProductResponse product) {
+        productOutboxRepository.save(toOutboxEvent(changeType, product));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(ProductChangeType changeType, Collection<ProductResponse> products) {
+        productOutboxRepository.saveAll(products.stream()
+                .map(product -> toOutboxEvent(changeType, product))
+                .toList());
+    }
+
+    /**
+     * Like {@link #recordAll}, but written as one JDBC batch, for bulk changes such as an import.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBatch(ProductChangeType changeType, Collection<ProductResponse> products) {
+        productOutboxRepository.insertBatch(products.stream()
+                .map(product -> toOutboxEvent(changeType, product))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long productId) {
+        productOutboxRepository.save(toOutboxEvent(ProductChangedEvent.builder()
+                .productId(productId)
+                .changeType(ProductChangeType.DELETED)
+                .build()));
+    }
+
+    public ProductChangedEvent readEvent(ProductOutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), ProductChangedEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox event " + outboxEvent.getId(), e);
+        }
+    }
+
+    private ProductOutboxEvent toOutboxEvent(ProductChangeType changeType, ProductResponse product) {
+        return toOutboxEvent(ProductChangedEvent.builder()
+                .productId(product.getId())
+                .changeType(changeType)
+                .name(product.getName())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .updatedAt(product.getUpdatedAt())
+                .build());
+    }
+
+    private ProductOutboxEvent toOutboxEvent(ProductChangedEvent event) {
+        try {
+            return ProductOutboxEvent.builder()
+                    .productId(event.getProductId())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize product event for product " + event.getProductId(), e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.AppliedStockRelease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AppliedStockReleaseRepository extends JpaRepository<AppliedStockRelease, String> {
+
+    @Modifying
+    @Query("DELETE FROM AppliedStockRelease r WHERE r.releasedAt < :cutoff")
+    int deleteReleasedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
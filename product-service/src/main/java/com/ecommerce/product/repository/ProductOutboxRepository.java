@@ -0,0 +1,22 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.ProductOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEvent, Long>, ProductOutboxRepositoryCustom {
+
+    /**
+     * Oldest pending events, locked for the caller ({@code FOR UPDATE}). Rows locked by another
+     * relay are waited for, not skipped: skipping would let a second instance publish a
+     * product's newer events while its older ones are still in flight.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ProductOutboxEvent> findByOrderByIdAsc(Limit limit);
+}
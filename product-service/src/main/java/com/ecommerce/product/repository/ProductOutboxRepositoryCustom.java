@@ -0,0 +1,14 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.ProductOutboxEvent;
+
+import java.util.List;
+
+public interface ProductOutboxRepositoryCustom {
+
+    /**
+     * Inserts outbox events as one JDBC batch, bypassing the persistence context, for bulk
+     * writes where one INSERT per event would dominate.
+     */
+    void insertBatch(List<ProductOutboxEvent> events);
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.ProductOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductOutboxRepositoryImpl implements ProductOutboxRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_outbox (product_id, payload, created_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<ProductOutboxEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(events.size());
+        for (ProductOutboxEvent event : events) {
+            args.add(new Object[]{event.getProductId(), event.getPayload(), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+}
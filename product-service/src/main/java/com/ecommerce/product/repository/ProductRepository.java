@@ -1,15 +1,62 @@
 package com.ecommerce.product.repository;
 
 import com.ecommerce.product.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     
     List<Product> findByNameContainingIgnoreCase(String name);
     
     List<Product> findByStockGreaterThan(Integer stock);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Product> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    /**
+     * Forward-only cursor over the whole catalog. Must be consumed inside a transaction
+     * and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllOrderById();
+
+    /**
+     * Atomically takes {@code quantity} units from a product, only if enough stock is left.
+     *
+     * @return number of rows changed: 1 on success, 0 if the product is missing or short on stock
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.updatedAt = :now " +
+            "WHERE p.id = :productId AND p.stock >= :quantity")
+    int decrementStock(@Param("productId") Long productId,
+                       @Param("quantity") Integer quantity,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Atomically adds {@code quantity} units to a product.
+     *
+     * @return number of rows changed: 1 on success, 0 if the product is missing
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity, p.updatedAt = :now WHERE p.id = :productId")
+    int incrementStock(@Param("productId") Long productId,
+                       @Param("quantity") Integer quantity,
+                       @Param("now") LocalDateTime now);
 }
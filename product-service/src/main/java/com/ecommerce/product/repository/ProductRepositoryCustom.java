@@ -0,0 +1,46 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.Product;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Conditionally decrements stock for several products as one JDBC batch.
+     * Each statement only matches when the product has enough stock left.
+     *
+     * @param quantities quantity to take, keyed by product ID
+     * @return update counts in the iteration order of {@code quantities}
+     */
+    int[] decrementStockBatch(SortedMap<Long, Integer> quantities);
+
+    /**
+     * Increments stock for several products as one JDBC batch.
+     *
+     * @param quantities quantity to add, keyed by product ID
+     * @return update counts in the iteration order of {@code quantities}
+     */
+    int[] incrementStockBatch(SortedMap<Long, Integer> quantities);
+
+    /**
+     * Inserts new products as one JDBC batch, bypassing the persistence context. With
+     * {@code rewriteBatchedStatements} the driver sends the batch as multi-row INSERTs.
+     * The generated IDs and the timestamps are set on the given products.
+     */
+    void insertBatch(List<Product> products);
+
+    /**
+     * Reads the stock of a product together with whether a write-behind stock batch has been
+     * applied to it. Both come from one statement, so they describe the same committed state.
+     *
+     * @param batchId batch to look up in the flush ledger, or null
+     * @return the reading, or empty if the product does not exist
+     */
+    Optional<StockReading> findStockWithBatchApplied(Long productId, String batchId);
+
+    record StockReading(int stock, boolean batchApplied) {
+    }
+}
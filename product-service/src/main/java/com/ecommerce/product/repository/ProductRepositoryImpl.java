@@ -0,0 +1,98 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE products SET stock = stock - ?, updated_at = ? WHERE id = ? AND stock >= ?";
+    private static final String INCREMENT_SQL =
+            "UPDATE products SET stock = stock + ?, updated_at = ? WHERE id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, description, price, stock, image_url, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String STOCK_WITH_BATCH_SQL =
+            "SELECT stock, EXISTS (SELECT 1 FROM stock_flush_batches WHERE batch_id = ?) AS batch_applied "
+                    + "FROM products WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] decrementStockBatch(SortedMap<Long, Integer> quantities) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            args.add(new Object[]{entry.getValue(), now, entry.getKey(), entry.getValue()});
+        }
+        return jdbcTemplate.batchUpdate(DECREMENT_SQL, args);
+    }
+
+    @Override
+    public int[] incrementStockBatch(SortedMap<Long, Integer> quantities) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            args.add(new Object[]{entry.getValue(), now, entry.getKey()});
+        }
+        return jdbcTemplate.batchUpdate(INCREMENT_SQL, args);
+    }
+
+    @Override
+    public void insertBatch(List<Product> products) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Product product = products.get(i);
+                        ps.setString(1, product.getName());
+                        ps.setString(2, product.getDescription());
+                        ps.setBigDecimal(3, product.getPrice());
+                        ps.setInt(4, product.getStock());
+                        ps.setString(5, product.getImageUrl());
+                        ps.setTimestamp(6, timestamp);
+                        ps.setTimestamp(7, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            product.setId(((Number) generated.get(i).values().iterator().next()).longValue());
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+        }
+    }
+
+    @Override
+    public Optional<StockReading> findStockWithBatchApplied(Long productId, String batchId) {
+        return jdbcTemplate.query(STOCK_WITH_BATCH_SQL,
+                        (rs, rowNum) -> new StockReading(rs.getInt("stock"), rs.getBoolean("batch_applied")),
+                        batchId, productId)
+                .stream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,365 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over product name and description.
+ * <p>
+ * Tokens are kept in a sorted map so prefix lookups are a range scan. A query matches a
+ * product only if every query term matches one of its tokens, either exactly or as a prefix;
+ * results are ranked by the summed term weights (name matches count more than description
+ * matches, exact matches more than prefix matches).
+ * <p>
+ * Matching is by whole token or token prefix, not by arbitrary substring: "head" finds
+ * "Headphones" but "phones" does not.
+ * <p>
+ * The index is updated by the ProductService write paths once they commit. Each update is also
+ * broadcast on {@code search.index.channel}, and the other replicas reload the product from the
+ * database, so their indexes follow within moments. A periodic rebuild from the database
+ * repairs anything a lost broadcast missed; updates that arrive while it runs are replayed onto
+ * the rebuilt index before it is swapped in. Bulk writes request a rebuild instead, which runs
+ * in the background on every replica.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex implements MessageListener {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BOOST = 2;
+    // Broadcast in place of a product ID to ask every replica for a rebuild
+    private static final String REBUILD_ALL = "*";
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final StringRedisTemplate redisTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${search.index.channel:product-search-index}")
+    private String channel;
+
+    // Identifies this replica so it can ignore its own broadcasts
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile IndexData data = new IndexData();
+    private volatile boolean ready = false;
+
+    // Product ID -> latest product (empty when removed) applied while a rebuild is running; null otherwise
+    private Map<Long, Optional<Product>> changedDuringRebuild;
+    private final Object rebuildLock = new Object();
+
+    private ThreadPoolTaskExecutor rebuildExecutor;
+    private TransactionTemplate rebuildTransaction;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    @PostConstruct
+    void startRebuildExecutor() {
+        rebuildExecutor = new ThreadPoolTaskExecutor();
+        rebuildExecutor.setCorePoolSize(1);
+        rebuildExecutor.setMaxPoolSize(1);
+        rebuildExecutor.setQueueCapacity(1);
+        rebuildExecutor.setThreadNamePrefix("search-index-rebuild-");
+        rebuildExecutor.initialize();
+        rebuildTransaction = new TransactionTemplate(transactionManager);
+        rebuildTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void stopRebuildExecutor() {
+        rebuildExecutor.shutdown();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or replaces the index entries of a product once the surrounding transaction commits,
+     * so a rolled-back write never becomes searchable.
+     */
+    public void index(Product product) {
+        runAfterCommit(() -> {
+            apply(product.getId(), Optional.of(product));
+            broadcast(product.getId().toString());
+        });
+    }
+
+    public void remove(Long productId) {
+        runAfterCommit(() -> {
+            apply(productId, Optional.empty());
+            broadcast(productId.toString());
+        });
+    }
+
+    /**
+     * Rebuilds the index in the background, on this and every other replica, once the
+     * surrounding transaction commits. For bulk writes, where per-product updates would flood
+     * the channel. Requests made while a rebuild is still queued are merged into it.
+     */
+    public void requestRebuild() {
+        runAfterCommit(() -> {
+            scheduleRebuild();
+            broadcast(REBUILD_ALL);
+        });
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            // Cleared before the rebuild starts, so changes made while it runs queue another one
+            rebuildQueued.set(false);
+            try {
+                rebuildTransaction.executeWithoutResult(status -> rebuild());
+            } catch (Exception e) {
+                // The periodic rebuild picks the changes up
+                log.error("Background search index rebuild failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Applies a change broadcast by another replica, reloading the product from the database.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 2);
+        if (parts.length != 2) {
+            log.warn("Ignoring malformed search index message: {}", body);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        if (REBUILD_ALL.equals(parts[1])) {
+            scheduleRebuild();
+            return;
+        }
+        try {
+            Long productId = Long.valueOf(parts[1]);
+            apply(productId, productRepository.findById(productId));
+        } catch (Exception e) {
+            // The next rebuild picks the change up
+            log.warn("Failed to apply search index update {}: {}", body, e.getMessage());
+        }
+    }
+
+    private synchronized void apply(Long productId, Optional<Product> product) {
+        if (product.isPresent()) {
+            data.add(product.get());
+        } else {
+            data.remove(productId);
+        }
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(productId, product);
+        }
+    }
+
+    private void broadcast(String target) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "|" + target);
+        } catch (Exception e) {
+            // Other replicas catch up with their next rebuild
+            log.warn("Failed to broadcast search index update for {}: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the IDs of products matching every term of the query, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        IndexData current = data;
+        Map<Long, Integer> scores = null;
+        for (String term : terms.stream().distinct().toList()) {
+            Map<Long, Integer> termScores = current.scoreTerm(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // AND semantics: keep only products that also match this term
+                Map<Long, Integer> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<Long, Integer> entry : termScores.entrySet()) {
+                    Integer score = previous.get(entry.getKey());
+                    if (score != null) {
+                        scores.put(entry.getKey(), score + entry.getValue());
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        return scores.entrySet()
+                .stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Rebuilds the index from the database and swaps it in once complete. Changes applied while
+     * the rebuild reads the table are replayed onto the new index, so none is lost by the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.index.rebuild-interval:PT10M}",
+            fixedDelayString = "${search.index.rebuild-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // One rebuild at a time, so a rebuild requested while another runs still sees its changes
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                changedDuringRebuild = new HashMap<>();
+            }
+            IndexData rebuilt = new IndexData();
+            try (Stream<Product> products = productRepository.streamAllOrderById()) {
+                products.forEach(product -> {
+                    rebuilt.add(product);
+                    entityManager.detach(product);
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changedDuringRebuild = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                changedDuringRebuild.forEach((productId, product) -> {
+                    if (product.isPresent()) {
+                        rebuilt.add(product.get());
+                    } else {
+                        rebuilt.remove(productId);
+                    }
+                });
+                changedDuringRebuild = null;
+                data = rebuilt;
+                ready = true;
+            }
+            log.info("Product search index rebuilt: {} products, {} tokens in {} ms",
+                    rebuilt.tokensByProduct.size(), rebuilt.postings.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static class IndexData {
+
+        // token -> (product ID -> weight)
+        private final NavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, Set<String>> tokensByProduct = new ConcurrentHashMap<>();
+
+        void add(Product product) {
+            remove(product.getId());
+
+            Map<String, Integer> weights = new HashMap<>();
+            for (String token : tokenize(product.getName())) {
+                weights.merge(token, NAME_WEIGHT, Integer::sum);
+            }
+            for (String token : tokenize(product.getDescription())) {
+                weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+            }
+
+            weights.forEach((token, weight) ->
+                    postings.computeIfAbsent(token, t -> new ConcurrentHashMap<>()).put(product.getId(), weight));
+            tokensByProduct.put(product.getId(), Set.copyOf(weights.keySet()));
+        }
+
+        void remove(Long productId) {
+            Set<String> tokens = tokensByProduct.remove(productId);
+            if (tokens == null) {
+                return;
+            }
+            for (String token : tokens) {
+                postings.computeIfPresent(token, (t, productIds) -> {
+                    productIds.remove(productId);
+                    return productIds.isEmpty() ? null : productIds;
+                });
+            }
+        }
+
+        Map<Long, Integer> scoreTerm(String term) {
+            Map<Long, Integer> termScores = new HashMap<>();
+            // Every token starting with the term, including the term itself
+            for (Map.Entry<String, Map<Long, Integer>> entry
+                    : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                int boost = entry.getKey().equals(term) ? EXACT_MATCH_BOOST : 1;
+                entry.getValue().forEach((productId, weight) ->
+                        termScores.merge(productId, weight * boost, Math::max));
+            }
+            return termScores;
+        }
+    }
+}
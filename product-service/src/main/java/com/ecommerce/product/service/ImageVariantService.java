@@ -0,0 +1,171 @@
+package com.ecommerce.product.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Generates resized variants of product images in the background: the original is decoded
+ * once, scaled to a medium and a thumbnail JPEG, and both are stored next to it in S3.
+ * <p>
+ * Work runs on a bounded pool owned by this service (not a shared executor bean, so the
+ * application task executor used for async requests is left alone). When the queue is
+ * full, variants are skipped and the product keeps serving its original image.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantService {
+
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+
+    // Refuse to decode images whose pixel count could exhaust the heap
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final ProductService productService;
+    private final S3Service s3Service;
+
+    @Value("${image.variants.pool-size:2}")
+    private int poolSize;
+
+    @Value("${image.variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${image.variants.thumbnail-size:150}")
+    private int thumbnailSize;
+
+    @Value("${image.variants.medium-size:600}")
+    private int mediumSize;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variants-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queues variant generation for a freshly uploaded product image.
+     */
+    public void generateVariantsAsync(Long productId, String imageUrl) {
+        try {
+            executor.execute(() -> generateVariants(productId, imageUrl));
+        } catch (TaskRejectedException e) {
+            log.warn("Image processing queue is full, skipping variants for product ID: {}", productId);
+        }
+    }
+
+    private void generateVariants(Long productId, String imageUrl) {
+        try {
+            BufferedImage original = decode(imageUrl);
+            if (original == null) {
+                log.info("No decoder for image {}, product ID {} keeps only the original", imageUrl, productId);
+                return;
+            }
+
+            // The thumbnail is scaled from the medium variant rather than the larger original
+            BufferedImage medium = resize(original, mediumSize);
+            BufferedImage thumbnail = resize(medium, thumbnailSize);
+
+            String mediumUrl = s3Service.uploadDerivedFile(imageUrl, "medium.jpg", encode(medium), VARIANT_CONTENT_TYPE);
+            String thumbnailUrl = s3Service.uploadDerivedFile(imageUrl, "thumb.jpg", encode(thumbnail), VARIANT_CONTENT_TYPE);
+
+            if (!productService.updateImageVariants(productId, imageUrl, thumbnailUrl, mediumUrl)) {
+                s3Service.deleteFile(mediumUrl);
+                s3Service.deleteFile(thumbnailUrl);
+            }
+        } catch (Exception e) {
+            log.error("Failed to generate image variants for product ID {}: {}", productId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decodes the image, subsampling while reading so large originals are never fully
+     * materialized when only a smaller size is needed.
+     *
+     * @return the decoded image, or null if no installed reader supports its format
+     */
+    private BufferedImage decode(String imageUrl) throws IOException {
+        try (InputStream content = s3Service.downloadFile(imageUrl);
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    throw new IOException("Image too large to process: " + width + "x" + height);
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = Math.max(1, Math.max(width, height) / (mediumSize * 2));
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG has no alpha channel: flatten transparent images onto white
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg", out)) {
+            throw new IOException("No JPEG writer available");
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.dto.StockItemRequest;
+import com.ecommerce.product.inventory.StockReleaseLedger;
+import com.ecommerce.product.inventory.WriteBehindInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Entry point for stock changes. Products configured for write-behind are served from their
+ * Redis counter; every other product goes through the transactional database path in
+ * {@link ProductService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryService {
+
+    private final ProductService productService;
+    private final WriteBehindInventory writeBehindInventory;
+    private final StockReleaseLedger stockReleaseLedger;
+
+    public ProductResponse getProductById(Long productId) {
+        ProductResponse product = productService.getProductById(productId);
+        if (!writeBehindInventory.handles(productId)) {
+            return product;
+        }
+        // The cached copy carries the last flushed stock; the counter is authoritative
+        return product.toBuilder()
+                .stock(writeBehindInventory.getStock(productId))
+                .build();
+    }
+
+    public List<ProductResponse> getProductsByIds(List<Long> productIds) {
+        return productService.getProductsByIds(productIds)
+                .stream()
+                .map(product -> writeBehindInventory.handles(product.getId())
+                        ? product.toBuilder().stock(writeBehindInventory.getStock(product.getId())).build()
+                        : product)
+                .collect(Collectors.toList());
+    }
+
+    public ProductResponse reduceStock(Long productId, Integer quantity) {
+        if (!writeBehindInventory.handles(productId)) {
+            return productService.reduceStock(productId, quantity);
+        }
+        log.info("Reducing write-behind stock for product ID: {} by quantity: {}", productId, quantity);
+        Map<Long, Integer> levels = writeBehindInventory.reserve(new TreeMap<>(Map.of(productId, quantity)));
+        return withStock(productId, levels.get(productId));
+    }
+
+    public ProductResponse addStock(Long productId, Integer quantity) {
+        if (!writeBehindInventory.handles(productId)) {
+            return productService.addStock(productId, quantity);
+        }
+        log.info("Adding write-behind stock for product ID: {} by quantity: {}", productId, quantity);
+        Map<Long, Integer> levels = writeBehindInventory.release(new TreeMap<>(Map.of(productId, quantity)));
+        return withStock(productId, levels.get(productId));
+    }
+
+    /**
+     * Reserves a cart's stock all-or-nothing. Write-behind products are taken from their
+     * counters first; if the database part then fails, they are given back.
+     */
+    public List<ProductResponse> reserveStock(List<StockItemRequest> items) {
+        SortedMap<Long, Integer> counterQuantities = new TreeMap<>();
+        List<StockItemRequest> databaseItems = new ArrayList<>();
+        split(items, counterQuantities, databaseItems);
+
+        if (counterQuantities.isEmpty()) {
+            return productService.reserveStock(databaseItems);
+        }
+
+        Map<Long, Integer> levels = writeBehindInventory.reserve(counterQuantities);
+        List<ProductResponse> products = new ArrayList<>();
+        if (!databaseItems.isEmpty()) {
+            try {
+                products.addAll(productService.reserveStock(databaseItems));
+            } catch (RuntimeException e) {
+                log.warn("Reservation failed, returning write-behind stock for products: {}", counterQuantities.keySet());
+                writeBehindInventory.release(counterQuantities);
+                throw e;
+            }
+        }
+        levels.forEach((productId, stock) -> products.add(withStock(productId, stock)));
+        return products;
+    }
+
+    /**
+     * Gives stock back, skipping items whose release ID was already applied. The ledger entries
+     * commit with the database changes; counters are released last, so a failure before them
+     * rolls everything back and the retry starts over.
+     */
+    @Transactional
+    public List<ProductResponse> releaseStock(List<StockItemRequest> items) {
+        List<StockItemRequest> pending = stockReleaseLedger.withoutApplied(items);
+        if (pending.isEmpty()) {
+            return new ArrayList<>();
+        }
+        stockReleaseLedger.record(pending);
+
+        SortedMap<Long, Integer> counterQuantities = new TreeMap<>();
+        List<StockItemRequest> databaseItems = new ArrayList<>();
+        split(pending, counterQuantities, databaseItems);
+
+        List<ProductResponse> products = new ArrayList<>();
+        if (!databaseItems.isEmpty()) {
+            products.addAll(productService.releaseStock(databaseItems));
+        }
+        if (!counterQuantities.isEmpty()) {
+            writeBehindInventory.release(counterQuantities)
+                    .forEach((productId, stock) -> products.add(withStock(productId, stock)));
+        }
+        return products;
+    }
+
+    private void split(List<StockItemRequest> items, SortedMap<Long, Integer> counterQuantities,
+                       List<StockItemRequest> databaseItems) {
+        for (StockItemRequest item : items) {
+            if (writeBehindInventory.handles(item.getProductId())) {
+                counterQuantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            } else {
+                databaseItems.add(item);
+            }
+        }
+    }
+
+    private ProductResponse withStock(Long productId, Integer stock) {
+        return productService.getProductById(productId).toBuilder()
+                .stock(stock)
+                .build();
+    }
+}
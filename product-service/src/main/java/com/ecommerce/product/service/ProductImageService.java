@@ -0,0 +1,71 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Product image uploads. The asynchronous path returns as soon as the file is on local disk,
+ * with the product's image in PENDING state, and sets the image URL once S3 has the object.
+ * Either way, resized variants are generated in the background once the image is stored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImageService {
+
+    private final ProductService productService;
+    private final S3Service s3Service;
+    private final ImageVariantService imageVariantService;
+
+    public ProductResponse uploadImage(Long productId, MultipartFile file) {
+        productService.requireProduct(productId);
+
+        // Upload file to S3
+        String imageUrl = s3Service.uploadFile(file, "products/product-" + productId);
+
+        // Update product with new image URL
+        ProductResponse product = productService.updateProductImage(productId, imageUrl);
+        imageVariantService.generateVariantsAsync(productId, imageUrl);
+        return product;
+    }
+
+    public ProductResponse uploadImageAsync(Long productId, MultipartFile file) {
+        // Checked up front so unknown products never reach S3; a delete racing this is still
+        // caught by markImageUploadPending, which removes the uploaded object
+        productService.requireProduct(productId);
+
+        String uploadId = UUID.randomUUID().toString();
+        CompletableFuture<String> upload = s3Service.uploadFileAsync(file, "products/product-" + productId);
+
+        ProductResponse product;
+        try {
+            product = productService.markImageUploadPending(productId, uploadId);
+        } catch (RuntimeException e) {
+            upload.thenAccept(s3Service::deleteFile);
+            throw e;
+        }
+
+        // Attached only after the pending state is committed, so the outcome can never be
+        // recorded before it
+        upload.whenComplete((imageUrl, error) -> {
+            if (error != null) {
+                log.error("Image upload {} failed for product ID {}: {}", uploadId, productId, error.getMessage(), error);
+            }
+            try {
+                if (productService.completeImageUpload(productId, uploadId, error == null ? imageUrl : null)
+                        && error == null) {
+                    imageVariantService.generateVariantsAsync(productId, imageUrl);
+                }
+            } catch (Exception e) {
+                log.error("Failed to record image upload {} for product ID {}: {}", uploadId, productId, e.getMessage(), e);
+            }
+        });
+        return product;
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.common.enums.ProductChangeType;
+import com.ecommerce.common.exception.BadRequestException;
+import com.ecommerce.product.cache.ProductCacheInvalidator;
+import com.ecommerce.product.dto.ProductImportResult;
+import com.ecommerce.product.dto.ProductRequest;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.outbox.ProductEventOutbox;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.search.ProductSearchIndex;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk product import from CSV (with a header row) or NDJSON.
+ * <p>
+ * Records are parsed one at a time from the request stream, validated like single creates and
+ * inserted through JDBC in batches of {@code product.import.batch-size}. Each batch commits on
+ * its own, together with a CREATED outbox event per product, so a failure part-way leaves the
+ * batches before it imported and announced. Invalid records are skipped and reported. Cached
+ * listings are dropped once at the end; the search index is rebuilt in the background.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final ObjectReader CSV_READER = CSV_MAPPER
+            .readerFor(ProductRequest.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    private final ProductRepository productRepository;
+    private final ProductCacheInvalidator productCacheInvalidator;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductEventOutbox productEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.import.batch-size:1000}")
+    private int batchSize;
+
+    public ProductImportResult importCsv(InputStream input) {
+        return importProducts(input, CSV_READER);
+    }
+
+    public ProductImportResult importNdjson(InputStream input) {
+        return importProducts(input, objectMapper.readerFor(ProductRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    private ProductImportResult importProducts(InputStream input, ObjectReader reader) {
+        long started = System.currentTimeMillis();
+        long imported = 0;
+        long rejected = 0;
+        long recordNumber = 0;
+        List<String> errors = new ArrayList<>();
+        List<Product> batch = new ArrayList<>(batchSize);
+
+        try (MappingIterator<ProductRequest> records = reader.readValues(input)) {
+            while (true) {
+                ProductRequest request;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    recordNumber++;
+                    request = records.nextValue();
+                } catch (JsonParseException e) {
+                    // Malformed syntax: there is no reliable way to find the next record
+                    throw new BadRequestException(String.format("Malformed input at record %d (%d imported): %s",
+                            recordNumber, imported + batch.size(), e.getOriginalMessage()));
+                } catch (JsonMappingException e) {
+                    // Type mismatch in one record; the iterator resumes at the next one
+                    rejected++;
+                    addError(errors, recordNumber, e.getOriginalMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    rejected++;
+                    addError(errors, recordNumber, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                batch.add(toProduct(request));
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch);
+                    imported += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertBatch(batch);
+                imported += batch.size();
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read import: " + e.getMessage());
+        } finally {
+            if (imported > 0) {
+                productCacheInvalidator.evictAllListings();
+                productSearchIndex.requestRebuild();
+            }
+        }
+
+        log.info("Imported {} products ({} rejected) in {} ms", imported, rejected, System.currentTimeMillis() - started);
+        return ProductImportResult.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .errors(errors)
+                .build();
+    }
+
+    private void insertBatch(List<Product> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.insertBatch(batch);
+            productEventOutbox.recordBatch(ProductChangeType.CREATED, batch.stream()
+                    .map(ProductService::mapToResponse)
+                    .toList());
+        });
+    }
+
+    private void addError(List<String> errors, long recordNumber, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Record " + recordNumber + ": " + message);
+        }
+    }
+
+    private Product toProduct(ProductRequest request) {
+        return Product.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .price(request.getPrice())
+                .stock(request.getStock())
+                .imageUrl(request.getImageUrl())
+                .build();
+    }
+}
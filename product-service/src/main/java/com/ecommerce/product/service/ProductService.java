@@ -1,20 +1,44 @@
 package com.ecommerce.product.service;
 
+import com.ecommerce.common.enums.ImageStatus;
+import com.ecommerce.common.enums.ProductChangeType;
+import com.ecommerce.common.exception.BadRequestException;
 import com.ecommerce.common.exception.InsufficientStockException;
 import com.ecommerce.common.exception.ResourceNotFoundException;
+import com.ecommerce.product.cache.ProductCacheInvalidator;
+import com.ecommerce.product.cache.StockAvailabilityCache;
+import com.ecommerce.product.cache.TwoTierCache;
+import com.ecommerce.product.dto.ProductPage;
 import com.ecommerce.product.dto.ProductRequest;
 import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.dto.StockItemRequest;
 import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.inventory.WriteBehindInventory;
+import com.ecommerce.product.outbox.ProductEventOutbox;
 import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,7 +46,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProductService {
 
+    public static final String SORT_ASC = "asc";
+    public static final String SORT_DESC = "desc";
+    private static final int MAX_PAGE_SIZE = 100;
+    public static final String DEFAULT_SEARCH_LIMIT = "50";
+    private static final int MAX_SEARCH_RESULTS = 100;
+    public static final int MAX_MULTI_GET = 200;
+
     private final ProductRepository productRepository;
+    private final ProductCacheInvalidator productCacheInvalidator;
+    private final StockAvailabilityCache stockAvailabilityCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final WriteBehindInventory writeBehindInventory;
+    private final ProductEventOutbox productEventOutbox;
+    private final CacheManager cacheManager;
 
     @Transactional
     @CacheEvict(value = "productList", allEntries = true)
@@ -38,11 +75,17 @@ public class ProductService {
                 .build();
 
         product = productRepository.save(product);
+        productSearchIndex.index(product);
+        productCacheInvalidator.evictTailPages();
+        ProductResponse response = mapToResponse(product);
+        productEventOutbox.record(ProductChangeType.CREATED, response);
         log.info("Product created with ID: {}, clearing productList cache", product.getId());
-        return mapToResponse(product);
+        return response;
     }
 
-    @Cacheable(value = "products", key = "#productId")
+    // Cache loaders read from the primary: a replica's lagging row would be cached for the whole TTL
+    @Transactional
+    @Cacheable(value = "products", key = "#productId", sync = true)
     public ProductResponse getProductById(Long productId) {
         log.info("Fetching product from database for ID: {}", productId);
         Product product = productRepository.findById(productId)
@@ -50,29 +93,179 @@ public class ProductService {
         return mapToResponse(product);
     }
 
-    @Cacheable(value = "productList")
+    /**
+     * Products for the given IDs, in request order and without duplicates; unknown IDs are
+     * left out. Cached products are read with one Redis round trip, the rest with one query,
+     * and those are then cached together.
+     */
+    @Transactional
+    public List<ProductResponse> getProductsByIds(Collection<Long> productIds) {
+        Set<Long> ids = productIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.size() > MAX_MULTI_GET) {
+            throw new BadRequestException("Cannot fetch more than " + MAX_MULTI_GET + " products at once");
+        }
+
+        Cache cache = cacheManager.getCache("products");
+        Map<Object, Object> cached = new HashMap<>();
+        if (cache instanceof TwoTierCache twoTierCache) {
+            cached.putAll(twoTierCache.getAll(ids));
+        } else if (cache != null) {
+            ids.forEach(id -> {
+                Cache.ValueWrapper wrapper = cache.get(id);
+                if (wrapper != null && wrapper.get() != null) {
+                    cached.put(id, wrapper.get());
+                }
+            });
+        }
+
+        List<Long> missing = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            log.info("Fetching {} of {} products from database", missing.size(), ids.size());
+            Map<Long, ProductResponse> loaded = findAllByIds(missing)
+                    .stream()
+                    .collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.putAll(loaded);
+            } else if (cache != null) {
+                loaded.forEach(cache::put);
+            }
+            cached.putAll(loaded);
+        }
+
+        return ids.stream()
+                .map(id -> (ProductResponse) cached.get(id))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    @Cacheable(value = "productList", sync = true)
     public List<ProductResponse> getAllProducts() {
         log.info("Fetching all products from database");
         return productRepository.findAll()
                 .stream()
-                .map(this::mapToResponse)
+                .map(ProductService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset-paginated catalog listing ordered by product ID. Pages are cached per key in
+     * {@code productPage}; a freshly loaded page is indexed before it is stored and the index
+     * is checked again afterwards, so an eviction racing with the store cannot be lost.
+     *
+     * @param after ID of the last product on the previous page, or null for the first page
+     * @param sort  "asc" or "desc"
+     */
+    @Transactional
+    public ProductPage getProductPage(Long after, int limit, String sort) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!SORT_ASC.equals(sort) && !SORT_DESC.equals(sort)) {
+            throw new BadRequestException("Sort must be either '" + SORT_ASC + "' or '" + SORT_DESC + "'");
+        }
+
+        String pageKey = sort + ":" + after + ":" + limit;
+        Cache pages = cacheManager.getCache("productPage");
+        if (pages == null) {
+            return loadProductPage(after, limit, sort);
+        }
+
+        boolean[] loaded = {false};
+        ProductPage page;
+        try {
+            page = pages.get(pageKey, () -> {
+                loaded[0] = true;
+                ProductPage loadedPage = loadProductPage(after, limit, sort);
+                productCacheInvalidator.recordPage(pageKey, productIds(loadedPage), isTailPage(loadedPage, after));
+                return loadedPage;
+            });
+        } catch (Cache.ValueRetrievalException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        if (loaded[0]) {
+            productCacheInvalidator.verifyPage(pageKey, productIds(page), isTailPage(page, after));
+        }
+        return page;
+    }
+
+    private ProductPage loadProductPage(Long after, int limit, String sort) {
+        log.info("Fetching product page from database: after={}, limit={}, sort={}", after, limit, sort);
+
+        // Fetch one extra row to know whether another page follows
+        List<Product> products = SORT_ASC.equals(sort)
+                ? productRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, Limit.of(limit + 1))
+                : productRepository.findByIdLessThanOrderByIdDesc(after != null ? after : Long.MAX_VALUE, Limit.of(limit + 1));
+
+        boolean hasMore = products.size() > limit;
+        if (hasMore) {
+            products = products.subList(0, limit);
+        }
+        List<ProductResponse> items = products.stream()
+                .map(ProductService::mapToResponse)
                 .collect(Collectors.toList());
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+
+        return ProductPage.builder()
+                .items(items)
+                .limit(limit)
+                .sort(sort)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // New products get the highest ID: they land on the last ascending page or the first descending one
+    private static boolean isTailPage(ProductPage page, Long after) {
+        return SORT_ASC.equals(page.getSort()) ? page.getNextCursor() == null : after == null;
     }
 
-    @Cacheable(value = "productSearch", key = "#name")
-    public List<ProductResponse> searchProducts(String name) {
-        log.info("Searching products in database for name: {}", name);
-        return productRepository.findByNameContainingIgnoreCase(name)
+    private static List<Long> productIds(ProductPage page) {
+        return page.getItems().stream().map(ProductResponse::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Best matches for every word of {@code name}, at most {@code limit}. Words match product name
+     * and description tokens exactly or as a prefix (see {@link ProductSearchIndex}); until the
+     * index is first built, names are matched by substring instead.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductResponse> searchProducts(String name, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        if (!productSearchIndex.isReady()) {
+            log.info("Search index not ready, searching products in database for name: {}", name);
+            return productRepository.findByNameContainingIgnoreCase(name)
+                    .stream()
+                    .limit(limit)
+                    .map(ProductService::mapToResponse)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> productIds = productSearchIndex.search(name, limit);
+        log.info("Search index matched {} products for query: {}", productIds.size(), name);
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep the index ranking; drop IDs deleted since they were indexed
+        Map<Long, ProductResponse> productsById = findAllByIds(productIds)
                 .stream()
-                .map(this::mapToResponse)
+                .collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+        return productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     @Transactional
     @Caching(evict = {
             @CacheEvict(value = "products", key = "#productId"),
-            @CacheEvict(value = "productList", allEntries = true),
-            @CacheEvict(value = "productSearch", allEntries = true)
+            @CacheEvict(value = "productList", allEntries = true)
     })
     public ProductResponse updateProduct(Long productId, ProductRequest request) {
         log.info("Updating product with ID: {}", productId);
@@ -80,22 +273,48 @@ public class ProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
 
+        boolean listingChanged = !Objects.equals(product.getName(), request.getName())
+                || !Objects.equals(product.getDescription(), request.getDescription())
+                || !Objects.equals(product.getImageUrl(), request.getImageUrl())
+                || product.getPrice() == null || request.getPrice() == null
+                || product.getPrice().compareTo(request.getPrice()) != 0;
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setPrice(request.getPrice());
-        product.setStock(request.getStock());
+        if (!Objects.equals(product.getImageUrl(), request.getImageUrl())) {
+            product.setThumbnailUrl(null);
+            product.setMediumImageUrl(null);
+        }
         product.setImageUrl(request.getImageUrl());
+        boolean writeBehind = writeBehindInventory.handles(productId);
+        if (!writeBehind) {
+            product.setStock(request.getStock());
+            stockAvailabilityCache.setStock(productId, request.getStock());
+        }
 
         product = productRepository.save(product);
+        productSearchIndex.index(product);
+        ProductResponse response = mapToResponse(product);
+        if (writeBehind) {
+            // The counter owns the stock and is set once this commits; the difference reaches
+            // the database with the next flush
+            writeBehindInventory.setStock(productId, request.getStock());
+            response.setStock(request.getStock());
+        }
+        productEventOutbox.record(ProductChangeType.UPDATED, response);
+        if (listingChanged) {
+            productCacheInvalidator.evictPagesContaining(List.of(productId));
+        } else {
+            productCacheInvalidator.evictPagesForStockChange(List.of(productId));
+        }
         log.info("Product updated, clearing caches for ID: {}", productId);
-        return mapToResponse(product);
+        return response;
     }
 
     @Transactional
     @Caching(evict = {
             @CacheEvict(value = "products", key = "#productId"),
-            @CacheEvict(value = "productList", allEntries = true),
-            @CacheEvict(value = "productSearch", allEntries = true)
+            @CacheEvict(value = "productList", allEntries = true)
     })
     public void deleteProduct(Long productId) {
         log.info("Deleting product with ID: {}", productId);
@@ -105,6 +324,13 @@ public class ProductService {
         }
 
         productRepository.deleteById(productId);
+        productSearchIndex.remove(productId);
+        if (writeBehindInventory.handles(productId)) {
+            writeBehindInventory.remove(productId);
+        }
+        stockAvailabilityCache.remove(productId);
+        productEventOutbox.recordDeleted(productId);
+        productCacheInvalidator.evictPagesContaining(List.of(productId));
         log.info("Product deleted, clearing caches for ID: {}", productId);
     }
 
@@ -116,21 +342,26 @@ public class ProductService {
     public ProductResponse reduceStock(Long productId, Integer quantity) {
         log.info("Reducing stock for product ID: {} by quantity: {}", productId, quantity);
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
-
-        if (product.getStock() < quantity) {
+        // Conditional UPDATE: concurrent orders can never take the stock below zero
+        int updated = productRepository.decrementStock(productId, quantity, LocalDateTime.now());
+        if (updated == 0) {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
             throw new InsufficientStockException(
                     String.format("Insufficient stock for product: %s. Available: %d, Requested: %d",
                             product.getName(), product.getStock(), quantity)
             );
         }
 
-        product.setStock(product.getStock() - quantity);
-        product = productRepository.save(product);
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        stockAvailabilityCache.applyDeltas(Map.of(productId, -quantity));
+        productCacheInvalidator.evictPagesForStockChange(List.of(productId));
         log.info("Stock reduced, clearing cache for product ID: {}", productId);
 
-        return mapToResponse(product);
+        ProductResponse response = mapToResponse(product);
+        productEventOutbox.record(ProductChangeType.STOCK_CHANGED, response);
+        return response;
     }
 
     @Transactional
@@ -141,23 +372,84 @@ public class ProductService {
     public ProductResponse addStock(Long productId, Integer quantity) {
         log.info("Adding stock for product ID: {} by quantity: {}", productId, quantity);
 
+        if (productRepository.incrementStock(productId, quantity, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
-
-        product.setStock(product.getStock() + quantity);
-        product = productRepository.save(product);
+        stockAvailabilityCache.applyDeltas(Map.of(productId, quantity));
+        productCacheInvalidator.evictPagesForStockChange(List.of(productId));
         log.info("Stock added, clearing cache for product ID: {}", productId);
 
-        return mapToResponse(product);
+        ProductResponse response = mapToResponse(product);
+        productEventOutbox.record(ProductChangeType.STOCK_CHANGED, response);
+        return response;
     }
 
-    @Cacheable(value = "productStock", key = "#productId")
-    public boolean checkStock(Long productId, Integer quantity) {
-        log.info("Checking stock from database for product ID: {}", productId);
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+    /**
+     * Reserves stock for all items of a cart in one transaction. Either every item is
+     * reserved or, if any product is missing or short on stock, none is.
+     */
+    @Transactional
+    public List<ProductResponse> reserveStock(List<StockItemRequest> items) {
+        SortedMap<Long, Integer> quantities = mergeQuantities(items);
+        log.info("Reserving stock for {} products: {}", quantities.size(), quantities);
+
+        int[] updateCounts = productRepository.decrementStockBatch(quantities);
+        int index = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (updateCounts[index++] == 0) {
+                Product product = productRepository.findById(entry.getKey())
+                        .orElseThrow(() -> new ResourceNotFoundException("Product", "id", entry.getKey()));
+                throw new InsufficientStockException(
+                        String.format("Insufficient stock for product: %s. Available: %d, Requested: %d",
+                                product.getName(), product.getStock(), entry.getValue())
+                );
+            }
+        }
+
+        Map<Long, Integer> deltas = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> deltas.put(productId, -quantity));
+        stockAvailabilityCache.applyDeltas(deltas);
+        productCacheInvalidator.evictProducts(quantities.keySet());
+        List<ProductResponse> products = findAllByIds(quantities.keySet());
+        productEventOutbox.recordAll(ProductChangeType.STOCK_CHANGED, products);
+        return products;
+    }
 
-        return product.getStock() >= quantity;
+    /**
+     * Returns previously reserved stock for all items in one transaction.
+     */
+    @Transactional
+    public List<ProductResponse> releaseStock(List<StockItemRequest> items) {
+        SortedMap<Long, Integer> quantities = mergeQuantities(items);
+        log.info("Releasing stock for {} products: {}", quantities.size(), quantities);
+
+        int[] updateCounts = productRepository.incrementStockBatch(quantities);
+        int index = 0;
+        for (Long productId : quantities.keySet()) {
+            if (updateCounts[index++] == 0) {
+                throw new ResourceNotFoundException("Product", "id", productId);
+            }
+        }
+
+        stockAvailabilityCache.applyDeltas(quantities);
+        productCacheInvalidator.evictProducts(quantities.keySet());
+        List<ProductResponse> products = findAllByIds(quantities.keySet());
+        productEventOutbox.recordAll(ProductChangeType.STOCK_CHANGED, products);
+        return products;
+    }
+
+    @Transactional
+    public boolean checkStock(Long productId, Integer quantity) {
+        if (writeBehindInventory.handles(productId)) {
+            return writeBehindInventory.getStock(productId) >= quantity;
+        }
+        int stock = stockAvailabilityCache.getStock(productId, () -> productRepository.findById(productId)
+                .map(Product::getStock)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId)));
+        return stock >= quantity;
     }
 
     @Transactional
@@ -172,13 +464,124 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
 
         product.setImageUrl(imageUrl);
+        product.setThumbnailUrl(null);
+        product.setMediumImageUrl(null);
+        product.setImageStatus(ImageStatus.READY);
+        // Supersedes any asynchronous upload still in progress
+        product.setImageUploadId(null);
         product = productRepository.save(product);
+        productCacheInvalidator.evictPagesContaining(List.of(productId));
         log.info("Image updated, clearing cache for product ID: {}", productId);
 
         return mapToResponse(product);
     }
 
-    private ProductResponse mapToResponse(Product product) {
+    /**
+     * Fails with {@link ResourceNotFoundException} unless the product exists.
+     */
+    @Transactional
+    public void requireProduct(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "products", key = "#productId"),
+            @CacheEvict(value = "productList", allEntries = true)
+    })
+    public ProductResponse markImageUploadPending(Long productId, String uploadId) {
+        log.info("Image upload {} started for product ID: {}", uploadId, productId);
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+
+        product.setImageStatus(ImageStatus.PENDING);
+        product.setImageUploadId(uploadId);
+        product = productRepository.save(product);
+        productCacheInvalidator.evictPagesContaining(List.of(productId));
+
+        return mapToResponse(product);
+    }
+
+    /**
+     * Records the outcome of an asynchronous image upload. Ignored if a newer upload has
+     * started since, or the product was deleted.
+     *
+     * @param imageUrl the uploaded image, or null if the upload failed
+     * @return whether the outcome was recorded
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "products", key = "#productId"),
+            @CacheEvict(value = "productList", allEntries = true)
+    })
+    public boolean completeImageUpload(Long productId, String uploadId, String imageUrl) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null || !uploadId.equals(product.getImageUploadId())) {
+            log.info("Ignoring superseded image upload {} for product ID: {}", uploadId, productId);
+            return false;
+        }
+
+        if (imageUrl != null) {
+            product.setImageUrl(imageUrl);
+            product.setThumbnailUrl(null);
+            product.setMediumImageUrl(null);
+            product.setImageStatus(ImageStatus.READY);
+        } else {
+            product.setImageStatus(ImageStatus.FAILED);
+        }
+        product.setImageUploadId(null);
+        productRepository.save(product);
+        productCacheInvalidator.evictPagesContaining(List.of(productId));
+        log.info("Image upload {} finished for product ID: {} with status {}", uploadId, productId, product.getImageStatus());
+        return true;
+    }
+
+    /**
+     * Records resized variants of a product image, unless the product's image has changed
+     * since they were generated.
+     *
+     * @return whether the variants were recorded
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "products", key = "#productId"),
+            @CacheEvict(value = "productList", allEntries = true)
+    })
+    public boolean updateImageVariants(Long productId, String imageUrl, String thumbnailUrl, String mediumImageUrl) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null || !imageUrl.equals(product.getImageUrl())) {
+            log.info("Ignoring image variants of a replaced image for product ID: {}", productId);
+            return false;
+        }
+
+        product.setThumbnailUrl(thumbnailUrl);
+        product.setMediumImageUrl(mediumImageUrl);
+        productRepository.save(product);
+        productCacheInvalidator.evictPagesContaining(List.of(productId));
+        log.info("Image variants recorded, clearing cache for product ID: {}", productId);
+        return true;
+    }
+
+    private SortedMap<Long, Integer> mergeQuantities(List<StockItemRequest> items) {
+        // Sorted by ID so concurrent batches lock rows in the same order
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (StockItemRequest item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private List<ProductResponse> findAllByIds(Collection<Long> productIds) {
+        return productRepository.findAllById(productIds)
+                .stream()
+                .map(ProductService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    static ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
@@ -186,6 +589,9 @@ public class ProductService {
                 .price(product.getPrice())
                 .stock(product.getStock())
                 .imageUrl(product.getImageUrl())
+                .imageStatus(product.getImageStatus())
+                .thumbnailUrl(product.getThumbnailUrl())
+                .mediumImageUrl(product.getMediumImageUrl())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .build();
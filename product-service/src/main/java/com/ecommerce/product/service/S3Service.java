@@ -2,6 +2,9 @@ package com.ecommerce.product.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
 public interface S3Service {
     
     /**
@@ -12,7 +15,36 @@ public interface S3Service {
      * @return The public URL of the uploaded file
      */
     String uploadFile(MultipartFile file, String folderName);
+
+    /**
+     * Upload a file to AWS S3 without blocking the caller.
+     * The file is validated and spooled to a temporary file before this method returns.
+     *
+     * @param file The file to upload
+     * @param folderName The folder name in S3 bucket
+     * @return Future completed with the public URL of the uploaded file
+     */
+    CompletableFuture<String> uploadFileAsync(MultipartFile file, String folderName);
     
+    /**
+     * Upload content derived from an existing file, stored next to it
+     *
+     * @param originalUrl The URL of the file the content was derived from
+     * @param suffix Appended to the original file name, replacing its extension
+     * @param content The content to upload
+     * @param contentType The content type of the upload
+     * @return The public URL of the uploaded file
+     */
+    String uploadDerivedFile(String originalUrl, String suffix, byte[] content, String contentType);
+
+    /**
+     * Open a file stored in AWS S3 for reading
+     *
+     * @param fileUrl The URL of the file to read
+     * @return The file content; the caller must close it
+     */
+    InputStream downloadFile(String fileUrl);
+
     /**
      * Delete a file from AWS S3
      * 
@@ -6,12 +6,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +25,7 @@ import java.util.UUID;
 public class S3ServiceImpl implements S3Service {
 
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -26,6 +33,9 @@ public class S3ServiceImpl implements S3Service {
     @Value("${aws.region}")
     private String region;
 
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
     private static final String[] ALLOWED_EXTENSIONS = {"jpg", "jpeg", "png", "gif", "webp"};
 
@@ -36,10 +46,7 @@ public class S3ServiceImpl implements S3Service {
             validateFile(file);
 
             // Generate unique file name
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = getFileExtension(originalFilename);
-            String fileName = UUID.randomUUID().toString() + "-" + System.currentTimeMillis() + "." + fileExtension;
-            String key = folderName + "/" + fileName;
+            String key = generateKey(file, folderName);
 
             log.info("Uploading file to S3: bucket={}, key={}", bucketName, key);
 
@@ -55,7 +62,7 @@ public class S3ServiceImpl implements S3Service {
             s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
 
             // Generate public URL
-            String fileUrl = String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+            String fileUrl = buildFileUrl(key);
             
             log.info("File uploaded successfully: {}", fileUrl);
             return fileUrl;
@@ -69,6 +76,84 @@ public class S3ServiceImpl implements S3Service {
         }
     }
 
+    @Override
+    public CompletableFuture<String> uploadFileAsync(MultipartFile file, String folderName) {
+        validateFile(file);
+        String key = generateKey(file, folderName);
+
+        // The multipart request is cleaned up when the request ends, so spool it to our own file.
+        // transferTo moves or streams the part without copying it onto the heap.
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("product-upload-", "-" + key.substring(key.lastIndexOf('/') + 1));
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            log.error("Error spooling upload to disk: {}", e.getMessage(), e);
+            throw new BadRequestException("Failed to upload file: " + e.getMessage());
+        }
+
+        log.info("Uploading file to S3 asynchronously: bucket={}, key={}, size={}", bucketName, key, file.getSize());
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(file.getContentType())
+                .acl(ObjectCannedACL.PUBLIC_READ)
+                .build();
+
+        return s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromFile(tempFile))
+                .whenComplete((response, error) -> deleteTempFile(tempFile))
+                .thenApply(response -> {
+                    String fileUrl = buildFileUrl(key);
+                    log.info("File uploaded successfully: {}", fileUrl);
+                    return fileUrl;
+                });
+    }
+
+    @Override
+    public String uploadDerivedFile(String originalUrl, String suffix, byte[] content, String contentType) {
+        String originalKey = extractKeyFromUrl(originalUrl);
+        if (originalKey == null) {
+            throw new BadRequestException("Not a file in this bucket: " + originalUrl);
+        }
+        int extensionIndex = originalKey.lastIndexOf('.');
+        String key = (extensionIndex > originalKey.lastIndexOf('/') ? originalKey.substring(0, extensionIndex) : originalKey)
+                + "-" + suffix;
+
+        try {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .acl(ObjectCannedACL.PUBLIC_READ)
+                    .build();
+
+            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(content));
+            return buildFileUrl(key);
+        } catch (S3Exception e) {
+            log.error("S3 error uploading file: {}", e.awsErrorDetails().errorMessage(), e);
+            throw new BadRequestException("Failed to upload file to S3: " + e.awsErrorDetails().errorMessage());
+        }
+    }
+
+    @Override
+    public InputStream downloadFile(String fileUrl) {
+        String key = extractKeyFromUrl(fileUrl);
+        if (key == null) {
+            throw new BadRequestException("Not a file in this bucket: " + fileUrl);
+        }
+
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+        } catch (S3Exception e) {
+            log.error("S3 error downloading file: {}", e.awsErrorDetails().errorMessage(), e);
+            throw new BadRequestException("Failed to download file from S3: " + e.awsErrorDetails().errorMessage());
+        }
+    }
+
     @Override
     public void deleteFile(String fileUrl) {
         try {
@@ -127,6 +212,30 @@ public class S3ServiceImpl implements S3Service {
         }
     }
 
+    private String generateKey(MultipartFile file, String folderName) {
+        String fileExtension = getFileExtension(file.getOriginalFilename());
+        String fileName = UUID.randomUUID().toString() + "-" + System.currentTimeMillis() + "." + fileExtension;
+        return folderName + "/" + fileName;
+    }
+
+    /**
+     * Public URL of an object, path-style when a custom endpoint is configured
+     */
+    private String buildFileUrl(String key) {
+        if (!endpoint.isEmpty()) {
+            return String.format("%s/%s/%s", endpoint.replaceAll("/+$", ""), bucketName, key);
+        }
+        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary upload file {}: {}", tempFile, e.getMessage());
+        }
+    }
+
     /**
      * Get file extension from filename
      */
@@ -0,0 +1,92 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductPage;
+import com.ecommerce.product.dto.ProductResponse;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the binary cache format with the JSON serializer it replaced on catalog pages of
+ * typical sizes. Timings are only logged, since they depend on the machine. Excluded from the
+ * default build; the size comparison is covered by {@link ProductBinaryRedisSerializerTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ProductBinaryRedisSerializerBenchmarkTest {
+
+    private static final int[] PAGE_SIZES = {20, 50, 100};
+    private static final int WARMUP_ROUNDS = 1_000;
+    private static final int MEASURED_ROUNDS = 2_000;
+
+    private final ProductBinaryRedisSerializer binary = new ProductBinaryRedisSerializer();
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer()
+            .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+
+    @Test
+    void comparesBinaryAndJsonOnCatalogPages() {
+        for (int pageSize : PAGE_SIZES) {
+            ProductPage page = page(pageSize);
+
+            Result binaryResult = measure(binary, page);
+            Result jsonResult = measure(json, page);
+
+            log.info("Catalog page of {} products: binary {} bytes, encode {} us, decode {} us; "
+                            + "JSON {} bytes, encode {} us, decode {} us",
+                    pageSize, binaryResult.bytes, binaryResult.encodeMicros(), binaryResult.decodeMicros(),
+                    jsonResult.bytes, jsonResult.encodeMicros(), jsonResult.decodeMicros());
+
+            assertThat(binary.deserialize(binary.serialize(page))).isEqualTo(page);
+        }
+    }
+
+    private Result measure(RedisSerializer<Object> serializer, ProductPage page) {
+        byte[] bytes = serializer.serialize(page);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            serializer.deserialize(serializer.serialize(page));
+        }
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            bytes = serializer.serialize(page);
+            long encoded = System.nanoTime();
+            serializer.deserialize(bytes);
+            decodeNanos += System.nanoTime() - encoded;
+            encodeNanos += encoded - start;
+        }
+        return new Result(bytes.length, encodeNanos / MEASURED_ROUNDS, decodeNanos / MEASURED_ROUNDS);
+    }
+
+    static ProductPage page(int size) {
+        List<ProductResponse> items = LongStream.rangeClosed(1_000, 1_000 + size - 1)
+                .mapToObj(ProductBinaryRedisSerializerTest::product)
+                .toList();
+        return ProductPage.builder()
+                .items(items)
+                .limit(size)
+                .sort("asc")
+                .nextCursor(items.get(items.size() - 1).getId())
+                .build();
+    }
+
+    private record Result(int bytes, long encodeNanos, long decodeNanos) {
+
+        long encodeMicros() {
+            return encodeNanos / 1_000;
+        }
+
+        long decodeMicros() {
+            return decodeNanos / 1_000;
+        }
+    }
+}
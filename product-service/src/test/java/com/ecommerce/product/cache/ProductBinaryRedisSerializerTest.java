@@ -0,0 +1,179 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.common.enums.ImageStatus;
+import com.ecommerce.product.dto.ProductPage;
+import com.ecommerce.product.dto.ProductResponse;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductBinaryRedisSerializerTest {
+
+    private final ProductBinaryRedisSerializer serializer = new ProductBinaryRedisSerializer();
+
+    @Test
+    void roundTripsAFullyPopulatedProduct() {
+        ProductResponse product = product(42L);
+
+        assertThat(serializer.deserialize(serializer.serialize(product))).isEqualTo(product);
+    }
+
+    @Test
+    void roundTripsAProductWithAbsentFields() {
+        ProductResponse product = ProductResponse.builder()
+                .id(7L)
+                .name("Sparse")
+                .price(new BigDecimal("0.01"))
+                .build();
+
+        ProductResponse decoded = (ProductResponse) serializer.deserialize(serializer.serialize(product));
+
+        assertThat(decoded).isEqualTo(product);
+        assertThat(decoded.getDescription()).isNull();
+        assertThat(decoded.getCreatedAt()).isNull();
+    }
+
+    @Test
+    void roundTripsEdgeValues() {
+        ProductResponse product = ProductResponse.builder()
+                .id(Long.MAX_VALUE)
+                .name("Größe – 尺寸 🚀")
+                .description("")
+                .price(new BigDecimal("-123456789012345678901234567890.123456789"))
+                .stock(Integer.MIN_VALUE)
+                .createdAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999))
+                .updatedAt(LocalDateTime.of(2100, 1, 1, 0, 0))
+                .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(product))).isEqualTo(product);
+    }
+
+    @Test
+    void roundTripsProductListsAndPages() {
+        List<ProductResponse> products = List.of(product(1L), product(2L), product(3L));
+        ProductPage page = ProductPage.builder()
+                .items(products)
+                .limit(20)
+                .sort("asc")
+                .nextCursor(3L)
+                .build();
+        ProductPage lastPage = ProductPage.builder()
+                .items(List.of())
+                .limit(20)
+                .sort("desc")
+                .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(products))).isEqualTo(products);
+        assertThat(serializer.deserialize(serializer.serialize(page))).isEqualTo(page);
+        assertThat(serializer.deserialize(serializer.serialize(lastPage))).isEqualTo(lastPage);
+    }
+
+    @Test
+    void isSmallerThanJsonOnCatalogPages() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+
+        for (int pageSize : new int[]{20, 50, 100}) {
+            ProductPage page = ProductBinaryRedisSerializerBenchmarkTest.page(pageSize);
+
+            assertThat(serializer.serialize(page).length).isLessThan(json.serialize(page).length * 3 / 4);
+        }
+    }
+
+    @Test
+    void treatsEntriesWithAnUnknownImageStatusAsMisses() {
+        ProductResponse product = product(1L);
+        product.setImageStatus(ImageStatus.PENDING);
+        byte[] bytes = serializer.serialize(product);
+        byte[] name = ImageStatus.PENDING.name().getBytes(StandardCharsets.UTF_8);
+        // Same length, so the record stays well-formed
+        byte[] unknown = "X".repeat(name.length).getBytes(StandardCharsets.UTF_8);
+        int at = indexOf(bytes, name);
+        System.arraycopy(unknown, 0, bytes, at, unknown.length);
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void treatsNullAndEmptyAsAbsent() {
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void ignoresEntriesWrittenWithAnotherFormatVersion() {
+        byte[] bytes = serializer.serialize(product(1L));
+        bytes[1] = (byte) (ProductBinaryRedisSerializer.FORMAT_VERSION + 1);
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void ignoresEntriesWithoutTheMagicByte() {
+        byte[] bytes = serializer.serialize(product(1L));
+        bytes[0] = (byte) (ProductBinaryRedisSerializer.MAGIC + 1);
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void ignoresEntriesWrittenByTheJsonSerializer() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+        assertThat(serializer.deserialize(json.serialize(List.of(1L, 2L)))).isNull();
+        assertThat(serializer.deserialize(json.serialize("products"))).isNull();
+    }
+
+    @Test
+    void rejectsTruncatedEntries() {
+        byte[] bytes = serializer.serialize(product(1L));
+
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 5)))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsUnsupportedValues() {
+        assertThatThrownBy(() -> serializer.serialize("not a product"))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.serialize(List.of("not a product")))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        for (int i = 0; i <= bytes.length - part.length; i++) {
+            if (Arrays.equals(bytes, i, i + part.length, part, 0, part.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("not found");
+    }
+
+    static ProductResponse product(long id) {
+        return ProductResponse.builder()
+                .id(id)
+                .name("Wireless Noise-Cancelling Headphones " + id)
+                .description("Over-ear Bluetooth headphones with active noise cancellation, "
+                        + "30-hour battery life and a carrying case. Model " + id + ".")
+                .price(new BigDecimal("199.99").add(BigDecimal.valueOf(id % 100)))
+                .stock((int) (id * 7 % 500))
+                .imageUrl("https://cdn.example.com/products/" + id + "/original.jpg")
+                .imageStatus(ImageStatus.READY)
+                .thumbnailUrl("https://cdn.example.com/products/" + id + "/thumbnail.jpg")
+                .mediumImageUrl("https://cdn.example.com/products/" + id + "/medium.jpg")
+                .createdAt(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000).plusMinutes(id))
+                .updatedAt(LocalDateTime.of(2024, 6, 12, 17, 45, 0).plusMinutes(id))
+                .build();
+    }
+}
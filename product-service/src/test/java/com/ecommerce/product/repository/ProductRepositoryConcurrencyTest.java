@@ -0,0 +1,109 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flash-sale contention on one product: many threads decrement the same row at once and the
+ * conditional UPDATE must never take the stock below zero.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final int STOCK = 300;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentDecrementsNeverOversell() throws Exception {
+        Long productId = saveProduct(STOCK);
+        AtomicInteger succeeded = runConcurrently(() -> productRepository.decrementStock(productId, 1, LocalDateTime.now()));
+
+        assertThat(succeeded.get()).isEqualTo(STOCK);
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isZero();
+    }
+
+    @Test
+    void concurrentMultiUnitDecrementsStopAtZero() throws Exception {
+        // 300 is a multiple of 3, so the last successful decrement empties the stock exactly
+        Long productId = saveProduct(STOCK);
+        AtomicInteger succeeded = runConcurrently(() -> productRepository.decrementStock(productId, 3, LocalDateTime.now()));
+
+        assertThat(succeeded.get()).isEqualTo(STOCK / 3);
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isZero();
+    }
+
+    private AtomicInteger runConcurrently(DecrementCall call) throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                        Integer updated = transactionTemplate.execute(status -> call.decrement());
+                        if (updated != null && updated == 1) {
+                            succeeded.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return succeeded;
+    }
+
+    private Long saveProduct(int stock) {
+        return productRepository.save(Product.builder()
+                .name("Flash sale item")
+                .price(new BigDecimal("9.99"))
+                .stock(stock)
+                .build()).getId();
+    }
+
+    @FunctionalInterface
+    private interface DecrementCall {
+        int decrement();
+    }
+}